@@ -1,9 +1,9 @@
 package org.hurricanegames.commandlib.commands;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -13,27 +13,48 @@ public class BukkitCommandExecutor implements CommandExecutor, TabCompleter {
 
 	protected final String permission;
 	protected final Command<? extends CommandHelper<?, ?, ?>> command;
+	protected final int completionsLimit;
 
 	public BukkitCommandExecutor(Command<? extends CommandHelper<?, ?, ?>> command) {
 		this(command, null);
 	}
 
 	public BukkitCommandExecutor(Command<? extends CommandHelper<?, ?, ?>> command, String permission) {
+		this(command, permission, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Creates executor
+	 * @param command command
+	 * @param permission permission or null
+	 * @param completionsLimit max tab-complete values count, completions stop generating values after that
+	 */
+	public BukkitCommandExecutor(Command<? extends CommandHelper<?, ?, ?>> command, String permission, int completionsLimit) {
 		this.command = command;
 		this.permission = permission;
+		this.completionsLimit = completionsLimit;
 	}
 
 	public Command<? extends CommandHelper<?, ?, ?>> getCommand() {
 		return command;
 	}
 
+	/*
+	 * Tokenizer is reusable, but not thread-safe (tab-complete can be called async)
+	 */
+	protected static final ThreadLocal<CommandArgsTokenizer> tokenizer = ThreadLocal.withInitial(CommandArgsTokenizer::new);
+
 	@Override
 	public boolean onCommand(CommandSender sender, org.bukkit.command.Command cmd, String label, String[] args) {
 		try {
 			if (permission != null) {
 				command.getHelper().validateHasPermission(sender, permission);
 			}
-			command.handleCommand(new CommandContext(command.getHelper().getMessages(), sender, label, splitEscaped(args)));
+			CommandArgsTokenizer argsTokenizer = tokenizer.get().tokenize(args, false);
+			if (argsTokenizer.hasUnclosedQuote()) {
+				throw createUnclosedQuoteException(args, argsTokenizer.getUnclosedQuotePosition());
+			}
+			command.handleCommand(createContext(sender, label, args, argsTokenizer));
 		} catch (CommandResponseException e) {
 			sender.sendMessage(e.getMessage().split("\n"));
 		}
@@ -46,48 +67,73 @@ public class BukkitCommandExecutor implements CommandExecutor, TabCompleter {
 			if (permission != null) {
 				command.getHelper().validateHasPermission(sender, permission);
 			}
-			return
-				command.getAutoComplete(new CommandContext(command.getHelper().getMessages(), sender, label, args)).stream()
-				.map(BukkitCommandExecutor::escape)
-				.collect(Collectors.toList());
-		} catch (CommandResponseException e) {
+			CommandArgsTokenizer argsTokenizer = tokenizer.get().tokenize(args, true);
+			CommandCompletionSink completions = createCompletionSink(argsTokenizer);
+			CompletableFuture<Void> future = command.getAutoCompleteAsync(createContext(sender, label, args, argsTokenizer), completions);
+			//never block main thread, only use already available completions
+			if (!future.isDone()) {
+				return Collections.emptyList();
+			}
+			future.join();
+			return completions.getCompletions();
+		} catch (CommandResponseException | CompletionException e) {
 			return Collections.emptyList();
 		}
 	}
 
-	protected static String[] splitEscaped(String[] args) {
-		ArrayList<String> arglist = new ArrayList<>();
-
-		StringBuilder argbuilder = new StringBuilder();
-		boolean escape = false;
-		for (char c : String.join(" ", args).toCharArray()) {
-			if (escape) {
-				escape = false;
-				argbuilder.append(c);
-			} else if (c == ' ') {
-				arglist.add(argbuilder.toString());
-				argbuilder.setLength(0);
-			} else if (c == '\\') {
-				escape = true;
-			} else {
-				argbuilder.append(c);
+	/**
+	 * Returns tab-complete future, used by asynchronous tab-complete (see {@link PaperAsyncTabCompleteListener})<br>
+	 * Unlike {@link #onTabComplete(CommandSender, org.bukkit.command.Command, String, String[])} (which uses only already available completions, so it never blocks main thread), this waits for asynchronous argument completions
+	 * @param sender command sender
+	 * @param label command label
+	 * @param args command args
+	 * @return tab-complete future, completes with empty list on fail
+	 */
+	public CompletableFuture<List<String>> onTabCompleteAsync(CommandSender sender, String label, String[] args) {
+		try {
+			if (permission != null) {
+				command.getHelper().validateHasPermission(sender, permission);
 			}
+			CommandArgsTokenizer argsTokenizer = new CommandArgsTokenizer().tokenize(args, true);
+			CommandCompletionSink completions = createCompletionSink(argsTokenizer);
+			return
+				command.getAutoCompleteAsync(createContext(sender, label, args, argsTokenizer), completions)
+				.handle((v, throwable) -> throwable == null ? completions.getCompletions() : Collections.emptyList());
+		} catch (CommandResponseException e) {
+			return CompletableFuture.completedFuture(Collections.emptyList());
 		}
-		if (argbuilder.length() > 0) {
-			arglist.add(argbuilder.toString());
-		}
-		return arglist.toArray(new String[0]);
+	}
+
+	/*
+	 * Completions are escaped (and stripped to the last bukkit arg) when added, so skipped values don't count towards the limit
+	 */
+	protected CommandCompletionSink createCompletionSink(CommandArgsTokenizer argsTokenizer) {
+		return new CommandCompletionSink(completionsLimit, argsTokenizer::toLastArgCompletion);
+	}
+
+	protected CommandContext createContext(CommandSender sender, String label, String[] args, CommandArgsTokenizer argsTokenizer) {
+		return new CommandContext(
+			command.getHelper().getMessages(), sender, label,
+			argsTokenizer.getTokens(), argsTokenizer.getTokensPositions(), args, 0,
+			null, -1
+		);
+	}
+
+	/*
+	 * Unclosed quote is most likely a typo, so command is not executed with quote silently extended to the end of the input
+	 */
+	protected CommandResponseException createUnclosedQuoteException(String[] args, int quotePosition) {
+		CommandMessages messages = command.getHelper().getMessages();
+		String input = String.join(" ", args);
+		return new CommandResponseException(messages.getArgErrorPositionMessage(messages.getArgsErrorUnclosedQuoteMessage(), input, quotePosition, input.length()));
+	}
+
+	protected static String[] splitEscaped(String[] args) {
+		return new CommandArgsTokenizer().tokenize(args, false).getTokens();
 	}
 
 	protected static String escape(String string) {
-		StringBuilder result = new StringBuilder();
-		for (char c : string.toCharArray()) {
-			if ((c == '\\') || (c == ' ')) {
-				result.append('\\');
-			}
-			result.append(c);
-		}
-		return result.toString();
+		return CommandArgsTokenizer.escape(string);
 	}
 
 }
@@ -1,6 +1,7 @@
 package org.hurricanegames.commandlib.commands;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface Command<H extends CommandHelper<?, ?, ?>> {
 
@@ -10,6 +11,53 @@ public interface Command<H extends CommandHelper<?, ?, ?>> {
 
 	public List<String> getAutoComplete(CommandContext context);
 
+	/**
+	 * Adds tab-complete values to completions sink, should stop generating values once sink is full<br>
+	 * Default implementation just adds {@link #getAutoComplete(CommandContext)} result
+	 * @param context command context
+	 * @param completions completions sink
+	 */
+	public default void getAutoComplete(CommandContext context, CommandCompletionSink completions) {
+		completions.addAll(getAutoComplete(context));
+	}
+
+	/**
+	 * Returns tab-complete future<br>
+	 * May be called off the main thread, default implementation just completes with {@link #getAutoComplete(CommandContext)} result
+	 * @param context command context
+	 * @return tab-complete future
+	 */
+	public default CompletableFuture<List<String>> getAutoCompleteAsync(CommandContext context) {
+		return CompletableFuture.completedFuture(getAutoComplete(context));
+	}
+
+	/**
+	 * Returns future that completes after tab-complete values are added to completions sink<br>
+	 * May be called off the main thread, default implementation just adds {@link #getAutoCompleteAsync(CommandContext)} result
+	 * @param context command context
+	 * @param completions completions sink
+	 * @return tab-complete future
+	 */
+	public default CompletableFuture<Void> getAutoCompleteAsync(CommandContext context, CommandCompletionSink completions) {
+		return getAutoCompleteAsync(context).thenAccept(completions::addAll);
+	}
+
 	public List<String> getHelpMessages(String commandLabel);
 
+	/**
+	 * Returns help revision, which should change every time help messages of this command change (for example when subcommand is added)<br>
+	 * Used to invalidate help cached by routers this command is added to, default implementation returns 0 (help never changes)
+	 * @return help revision
+	 */
+	public default long getHelpRevision() {
+		return 0;
+	}
+
+	/**
+	 * Invalidates help cached by this command and its subcommands, call if help changed without help or messages revision change (for example after custom messages provider reload)<br>
+	 * Default implementation does nothing (help is not cached)
+	 */
+	public default void invalidateHelpCache() {
+	}
+
 }
@@ -0,0 +1,209 @@
+package org.hurricanegames.commandlib.commands;
+
+import java.util.Arrays;
+
+/**
+ * Splits bukkit command args to command tokens in a single pass (without joining them first)<br>
+ * Supports escaping chars with backslash and quoting strings with double quotes (both allow tokens to contain spaces)<br>
+ * Escape chars and quotes are not part of the tokens, so literal backslash or double quote has to be escaped<br>
+ * Records token positions (char offset in args joined by space), so error messages can point at the token<br>
+ * <br>
+ * Tokenizer instance is reusable, but not thread-safe
+ */
+public class CommandArgsTokenizer {
+
+	public static final char ESCAPE_CHAR = '\\';
+	public static final char QUOTE_CHAR = '"';
+
+	protected final StringBuilder tokenBuilder = new StringBuilder();
+	protected String[] tokens = new String[8];
+	protected int[] tokensPositions = new int[8];
+	protected int tokensCount;
+
+	protected boolean lastTokenQuoted;
+	protected boolean lastTokenUnclosedQuote;
+	protected int unclosedQuotePosition;
+	protected String lastTokenArgsPrefix;
+
+	/**
+	 * Tokenizes args<br>
+	 * In completion mode the last token is always present (even if empty), so the completion knows which token is being typed
+	 * @param args bukkit command args
+	 * @param completion true if tokenizing for tab-complete
+	 * @return this tokenizer
+	 */
+	public CommandArgsTokenizer tokenize(String[] args, boolean completion) {
+		tokensCount = 0;
+		tokenBuilder.setLength(0);
+		lastTokenArgsPrefix = null;
+
+		boolean escaped = false;
+		boolean quoted = false;
+		int quotePosition = -1;
+		boolean tokenStarted = false;
+		boolean tokenQuoted = false;
+		int tokenPosition = 0;
+		int tokenArgIndex = 0;
+		int position = 0;
+		for (int argIndex = 0; argIndex < args.length; argIndex++) {
+			if (argIndex > 0) {
+				if (escaped || quoted) {
+					tokenBuilder.append(' ');
+					escaped = false;
+				} else {
+					addToken(tokenPosition);
+					tokenStarted = false;
+					tokenQuoted = false;
+					tokenPosition = position + 1;
+					tokenArgIndex = argIndex;
+				}
+				position++;
+			}
+			String arg = args[argIndex];
+			int argLength = arg.length();
+			for (int charIndex = 0; charIndex < argLength; charIndex++) {
+				char c = arg.charAt(charIndex);
+				if (escaped) {
+					tokenBuilder.append(c);
+					escaped = false;
+				} else if (c == ESCAPE_CHAR) {
+					escaped = true;
+				} else if (c == QUOTE_CHAR) {
+					if (!tokenStarted) {
+						tokenQuoted = true;
+					}
+					quoted = !quoted;
+					if (quoted) {
+						quotePosition = position + charIndex;
+					}
+				} else {
+					tokenBuilder.append(c);
+				}
+				tokenStarted = true;
+			}
+			position += argLength;
+		}
+		if (completion ? (args.length > 0) : (tokenStarted || (tokenBuilder.length() > 0))) {
+			addToken(tokenPosition);
+		}
+
+		lastTokenQuoted = tokenQuoted;
+		lastTokenUnclosedQuote = quoted;
+		unclosedQuotePosition = quoted ? quotePosition : -1;
+		if (completion && (tokenArgIndex < (args.length - 1))) {
+			StringBuilder argsPrefix = new StringBuilder();
+			for (int argIndex = tokenArgIndex; argIndex < (args.length - 1); argIndex++) {
+				argsPrefix.append(args[argIndex]).append(' ');
+			}
+			lastTokenArgsPrefix = argsPrefix.toString();
+		}
+
+		return this;
+	}
+
+	protected void addToken(int position) {
+		if (tokensCount == tokens.length) {
+			tokens = Arrays.copyOf(tokens, tokensCount * 2);
+			tokensPositions = Arrays.copyOf(tokensPositions, tokensCount * 2);
+		}
+		tokens[tokensCount] = tokenBuilder.toString();
+		tokensPositions[tokensCount] = position;
+		tokensCount++;
+		tokenBuilder.setLength(0);
+	}
+
+	public int getTokensCount() {
+		return tokensCount;
+	}
+
+	public String[] getTokens() {
+		return Arrays.copyOf(tokens, tokensCount);
+	}
+
+	public int[] getTokensPositions() {
+		return Arrays.copyOf(tokensPositions, tokensCount);
+	}
+
+	/**
+	 * Returns if last token has opening quote without closing one
+	 * @return true if last token quote is unclosed
+	 */
+	public boolean hasUnclosedQuote() {
+		return lastTokenUnclosedQuote;
+	}
+
+	/**
+	 * Returns position of the opening quote that doesn't have closing one (char offset in args joined by space)
+	 * @return unclosed quote position or -1 if all quotes are closed
+	 */
+	public int getUnclosedQuotePosition() {
+		return unclosedQuotePosition;
+	}
+
+	/**
+	 * Converts tab-complete value of the last token (from latest completion mode tokenize) to the string that should replace the last bukkit arg<br>
+	 * Value is escaped (or quoted if the token is quoted), and if the token spans multiple bukkit args, parts that are already typed in previous args are stripped
+	 * @param completion tab-complete value
+	 * @return string that should replace last bukkit arg or null if value doesn't match already typed args
+	 */
+	public String toLastArgCompletion(String completion) {
+		String escaped = lastTokenQuoted ? quote(completion) : escape(completion);
+		if (lastTokenArgsPrefix == null) {
+			return escaped;
+		}
+		if (!escaped.startsWith(lastTokenArgsPrefix)) {
+			return null;
+		}
+		return escaped.substring(lastTokenArgsPrefix.length());
+	}
+
+	/**
+	 * Escapes string so it will be parsed as a single token
+	 * @param string string
+	 * @return escaped string
+	 */
+	public static String escape(String string) {
+		int length = string.length();
+		int charIndex = 0;
+		while ((charIndex < length) && !isEscapeNeeded(string.charAt(charIndex))) {
+			charIndex++;
+		}
+		if (charIndex == length) {
+			return string;
+		}
+		StringBuilder result = new StringBuilder(length + 4);
+		result.append(string, 0, charIndex);
+		for (; charIndex < length; charIndex++) {
+			char c = string.charAt(charIndex);
+			if (isEscapeNeeded(c)) {
+				result.append(ESCAPE_CHAR);
+			}
+			result.append(c);
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Quotes string so it will be parsed as a single token
+	 * @param string string
+	 * @return quoted string
+	 */
+	public static String quote(String string) {
+		StringBuilder result = new StringBuilder(string.length() + 4);
+		result.append(QUOTE_CHAR);
+		for (int charIndex = 0; charIndex < string.length(); charIndex++) {
+			char c = string.charAt(charIndex);
+			if ((c == ESCAPE_CHAR) || (c == QUOTE_CHAR)) {
+				result.append(ESCAPE_CHAR);
+			}
+			result.append(c);
+		}
+		result.append(QUOTE_CHAR);
+		return result.toString();
+	}
+
+	protected static boolean isEscapeNeeded(char c) {
+		return (c == ' ') || (c == ESCAPE_CHAR) || (c == QUOTE_CHAR);
+	}
+
+}
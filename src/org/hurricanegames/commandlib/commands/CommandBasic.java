@@ -13,28 +13,44 @@ import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Level;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.hurricanegames.commandlib.providers.playerinfo.AsyncPlayerInfoProvider;
 import org.hurricanegames.commandlib.providers.playerinfo.PlayerInfo;
+import org.hurricanegames.commandlib.providers.playerinfo.PlayerInfoProvider;
+import org.hurricanegames.commandlib.utils.BukkitMainThreadExecutor;
+import org.hurricanegames.commandlib.utils.FutureUtils;
+import org.hurricanegames.commandlib.utils.MainThreadExecutor;
 import org.hurricanegames.commandlib.utils.MiscBukkitUtils;
 import org.hurricanegames.commandlib.utils.ReflectionUtils;
+import org.hurricanegames.commandlib.utils.ReflectionUtils.BoundMethodInvoker;
 import org.hurricanegames.commandlib.utils.Tuple;
 
 public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements Command<H> {
 
 	protected final H helper;
 
-	private final Map<String, Object> parsedValuesStorage = new HashMap<>();
+	/*
+	 * Values of arguments parsed by current invocation, indexed by argument slot (index in handleMethodArguments)
+	 * Each invocation gets it's own frame, so handling and tab-completing can be done concurrently (and re-entrantly)
+	 */
+	private final ThreadLocal<Object[]> parsedValuesFrame = new ThreadLocal<>();
 	private final Method handleMethod;
+	private final BoundMethodInvoker handleMethodInvoker;
 	private final Tuple<String, CommandArgument<Object>>[] handleMethodArguments;
 
 	private String createArgumentIdentififer(CommandArgumentDefinition definition) {
@@ -53,7 +69,7 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 	}
 
 	private CommandArgument<Object> tryInitArgumentFromConstructor(
-		CommandBasic<H> command, Set<String> handleMethodArgumentsInitialized, Map<String, Object> parsedValuesStorage,
+		CommandBasic<H> command, Map<String, Integer> handleMethodArgumentsInitializedSlots,
 		Constructor<?> argumentConstructor
 	) {
 		Parameter[] argumentConstructorParameters = argumentConstructor.getParameters();
@@ -89,20 +105,22 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 					));
 				}
 				String argumentParameterIdentifier = createArgumentIdentififer(argumentParameterDefinition);
-				if (!handleMethodArgumentsInitialized.contains(argumentParameterIdentifier)) {
+				Integer argumentParameterSlot = handleMethodArgumentsInitializedSlots.get(argumentParameterIdentifier);
+				if (argumentParameterSlot == null) {
 					throw new IllegalArgumentException(MessageFormat.format(
 						"Cosntructor parameter {0} uses command argument {1} which doesn''t exist (currenty existing arguments: {2})",
-						argumentParameter, argumentParameterIdentifier, handleMethodArgumentsInitialized
+						argumentParameter, argumentParameterIdentifier, handleMethodArgumentsInitializedSlots.keySet()
 					));
 				}
-				argumentConstructorParameterArray[argumentParameterIndex] = (Supplier<?>) () -> parsedValuesStorage.get(argumentParameterIdentifier);
+				int slot = argumentParameterSlot;
+				argumentConstructorParameterArray[argumentParameterIndex] = (Supplier<?>) () -> command.getParsedValue(slot);
 			}
 		}
 		return ReflectionUtils.newInstance(argumentConstructor, argumentConstructorParameterArray);
 	}
 
 	private CommandArgument<Object> tryInitArgument(
-		CommandBasic<H> command, Set<String> handleMethodArgumentsInitialized, Map<String, Object> parsedValuesStorage,
+		CommandBasic<H> command, Map<String, Integer> handleMethodArgumentsInitializedSlots,
 		Class<?> argumentClass
 	) {
 		Map<Constructor<?>, Throwable> constructorsInitFailCause = new HashMap<>();
@@ -110,7 +128,7 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 			argumentConstructor = ReflectionUtils.setAccessible(argumentConstructor);
 			try {
 				return tryInitArgumentFromConstructor(
-					command, handleMethodArgumentsInitialized, parsedValuesStorage,
+					command, handleMethodArgumentsInitializedSlots,
 					argumentConstructor
 				);
 			} catch (Throwable t) {
@@ -139,10 +157,10 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 				.findAny()
 				.orElseThrow(() -> new IllegalArgumentException("Missing method annotated with " + CommandHandler.class.getName()))
 			);
-
+		this.handleMethodInvoker = ReflectionUtils.bindInvoker(handleMethod, this);
 
 		Parameter[] handleMethodParameters = handleMethod.getParameters();
-		Set<String> handleMethodArgumentsParsedIdetifiers = new HashSet<>();
+		Map<String, Integer> handleMethodArgumentsParsedSlots = new HashMap<>();
 		this.handleMethodArguments = new Tuple[handleMethodParameters.length];
 		for (int handleMethodParameterIndex = 0; handleMethodParameterIndex < handleMethodParameters.length; handleMethodParameterIndex++) {
 			Parameter handleMethodParameter = handleMethodParameters[handleMethodParameterIndex];
@@ -157,16 +175,16 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 			}
 
 			String argumentIdentifier = createArgumentIdentififer(handleMethodParameterDefinition);
-			if (handleMethodArgumentsParsedIdetifiers.contains(argumentIdentifier)) {
+			if (handleMethodArgumentsParsedSlots.containsKey(argumentIdentifier)) {
 				throw new IllegalArgumentException(MessageFormat.format(
 					"Command handle method {0} parameter {1} uses identififer {2} which is already taken",
 					handleMethod, handleMethodParameter, argumentIdentifier
 				));
 			}
 			this.handleMethodArguments[handleMethodParameterIndex] = new Tuple<>(argumentIdentifier, tryInitArgument(
-				this, handleMethodArgumentsParsedIdetifiers, parsedValuesStorage, handleMethodParameterDefinition.value()
+				this, handleMethodArgumentsParsedSlots, handleMethodParameterDefinition.value()
 			));
-			handleMethodArgumentsParsedIdetifiers.add(argumentIdentifier);
+			handleMethodArgumentsParsedSlots.put(argumentIdentifier, handleMethodParameterIndex);
 		}
 	}
 
@@ -175,50 +193,274 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 		return helper;
 	}
 
+	private Object getParsedValue(int slot) {
+		Object[] frame = parsedValuesFrame.get();
+		return frame != null ? frame[slot] : null;
+	}
+
 	@Override
 	public void handleCommand(CommandContext context) {
+		handleCommand(context, new Object[handleMethodArguments.length], 0, 0);
+	}
+
+	/*
+	 * Parses arguments starting from provided slot and invokes handler
+	 * Stops at asynchronous argument which value is not yet available, and continues once it is
+	 */
+	private void handleCommand(CommandContext context, Object[] frame, int slot, int argIndex) {
+		Object[] previousFrame = parsedValuesFrame.get();
+		parsedValuesFrame.set(frame);
+		try {
+			for (int i = slot; i < handleMethodArguments.length; i++) {
+				CommandArgument<Object> argument = handleMethodArguments[i].getObject2();
+				try {
+					if (argument.isParseAsync()) {
+						CompletableFuture<Object> future = argument.parseAsync(context, argIndex);
+						if (!future.isDone()) {
+							int resumeSlot = i;
+							int resumeArgIndex = argIndex;
+							future.whenComplete((value, throwable) -> scheduleResumeHandleCommand(context, frame, resumeSlot, resumeArgIndex, value, throwable));
+							return;
+						}
+						frame[i] = FutureUtils.getDone(future);
+					} else {
+						frame[i] = argument.parse(context, argIndex);
+					}
+				} catch (CommandResponseException e) {
+					throw createArgPositionException(context, argument, argIndex, e);
+				}
+				if (argument.isPositional()) {
+					argIndex++;
+				}
+			}
+			handleMethodInvoker.invoke(frame);
+		} finally {
+			restoreParsedValuesFrame(previousFrame);
+		}
+	}
+
+	/*
+	 * Exceptions thrown from whenComplete actions are swallowed by CompletableFuture, so scheduling failure (for example if plugin is disabled) is logged here
+	 */
+	private void scheduleResumeHandleCommand(CommandContext context, Object[] frame, int slot, int argIndex, Object value, Throwable throwable) {
+		try {
+			MainThreadExecutor mainThreadExecutor = getMainThreadExecutor();
+			if (mainThreadExecutor.isMainThread()) {
+				resumeHandleCommand(context, frame, slot, argIndex, value, throwable);
+			} else {
+				mainThreadExecutor.execute(() -> resumeHandleCommand(context, frame, slot, argIndex, value, throwable));
+			}
+		} catch (Throwable t) {
+			Bukkit.getLogger().log(Level.SEVERE, "Unable to resume handling of command " + context.getCommand() + ", command is dropped", t);
+		}
+	}
+
+	/*
+	 * Nothing catches exceptions of resumed handling, so response messages are sent (and other errors logged) here
+	 */
+	private void resumeHandleCommand(CommandContext context, Object[] frame, int slot, int argIndex, Object value, Throwable throwable) {
+		CommandArgument<Object> argument = handleMethodArguments[slot].getObject2();
+		try {
+			if (throwable != null) {
+				try {
+					throw FutureUtils.rethrow(throwable);
+				} catch (CommandResponseException e) {
+					throw createArgPositionException(context, argument, argIndex, e);
+				}
+			}
+			frame[slot] = value;
+			handleCommand(context, frame, slot + 1, argument.isPositional() ? argIndex + 1 : argIndex);
+		} catch (CommandResponseException e) {
+			context.getSender().sendMessage(e.getMessage().split("\n"));
+		} catch (Throwable t) {
+			Bukkit.getLogger().log(Level.SEVERE, "Exception while handling command " + context.getCommand(), t);
+		}
+	}
+
+	/*
+	 * Points parse error message of positional argument at the arg in the command input (if arg position is known)
+	 */
+	private CommandResponseException createArgPositionException(CommandContext context, CommandArgument<Object> argument, int argIndex, CommandResponseException e) {
+		if (!argument.isPositional()) {
+			return e;
+		}
+		int start = context.getArgPosition(argIndex);
+		int end = context.getArgEndPosition(argIndex);
+		if ((start == -1) || (end == -1)) {
+			return e;
+		}
+		return new CommandResponseException(helper.getMessages().getArgErrorPositionMessage(e.getMessage(), context.getInput(), start, end));
+	}
+
+	private volatile MainThreadExecutor mainThreadExecutor;
+
+	/**
+	 * Returns executor that resumes command handling on the main thread (used if asynchronous argument value future completes on another thread) and runs {@link #supplySync(Supplier)} suppliers<br>
+	 * Default implementation returns bukkit scheduler executor of plugin that loaded the command class
+	 * @return main thread executor
+	 */
+	protected MainThreadExecutor getMainThreadExecutor() {
+		MainThreadExecutor executor = mainThreadExecutor;
+		if (executor == null) {
+			executor = new BukkitMainThreadExecutor(JavaPlugin.getProvidingPlugin(getClass()));
+			mainThreadExecutor = executor;
+		}
+		return executor;
+	}
+
+	/**
+	 * Calls supplier on the main thread (see {@link MiscBukkitUtils#supplySync(MainThreadExecutor, Supplier)}), values of already parsed arguments are available to the supplier<br>
+	 * Used by asynchronous tab-complete of arguments that use bukkit api
+	 * @param <T> value type
+	 * @param supplier supplier
+	 * @return future of supplier result
+	 */
+	protected <T> CompletableFuture<T> supplySync(Supplier<T> supplier) {
+		Object[] frame = parsedValuesFrame.get();
+		return MiscBukkitUtils.supplySync(getMainThreadExecutor(), () -> {
+			Object[] previousFrame = parsedValuesFrame.get();
+			parsedValuesFrame.set(frame);
+			try {
+				return supplier.get();
+			} finally {
+				restoreParsedValuesFrame(previousFrame);
+			}
+		});
+	}
+
+	/*
+	 * Asynchronous argument values are only used if they are already available, so tab-complete never blocks
+	 * Parse fail is reported by result, so invalid argument doesn't need an exception
+	 * Returns false if value is not available
+	 */
+	private boolean parseForComplete(CommandContext context, Object[] frame, int slot, int argIndex) {
+		CommandArgument<Object> argument = handleMethodArguments[slot].getObject2();
+		if (argument.isParseAsync()) {
+			CompletableFuture<Object> future = argument.parseAsync(context, argIndex);
+			if (!future.isDone() || future.isCompletedExceptionally()) {
+				return false;
+			}
+			frame[slot] = FutureUtils.getDone(future);
+		} else {
+			ParseResult<Object> result = argument.tryParse(context, argIndex);
+			if (!result.isSuccess()) {
+				return false;
+			}
+			frame[slot] = result.getValue();
+		}
+		return true;
+	}
+
+	@Override
+	public List<String> getAutoComplete(CommandContext context) {
+		CommandCompletionSink completions = new CommandCompletionSink();
+		getAutoComplete(context, completions);
+		return completions.getCompletions();
+	}
+
+	/*
+	 * Asynchronous argument completions are only used if they are already available, so this never blocks
+	 */
+	@Override
+	public void getAutoComplete(CommandContext context, CommandCompletionSink completions) {
+		Object[] frame = new Object[handleMethodArguments.length];
+		Object[] previousFrame = parsedValuesFrame.get();
+		parsedValuesFrame.set(frame);
 		try {
 			int argIndex = 0;
-			Object[] handleMethodValues = new Object[handleMethodArguments.length];
 			for (int i = 0; i < handleMethodArguments.length; i++) {
-				Tuple<String, CommandArgument<Object>> tuple = handleMethodArguments[i];
-				CommandArgument<Object> argument = tuple.getObject2();
-				Object value = argument.parse(context, argIndex);
-				handleMethodValues[i] = value;
-				parsedValuesStorage.put(tuple.getObject1(), value);
+				CommandArgument<Object> argument = handleMethodArguments[i].getObject2();
+				if (argument.isPositional() && !context.hasArg(argIndex + 1)) {
+					if (argument.isCompleteAsync()) {
+						completions.addAll(argument.completeAsync(context, argIndex).getNow(Collections.emptyList()));
+					} else {
+						argument.complete(context, argIndex, completions);
+					}
+					return;
+				}
+				if (!parseForComplete(context, frame, i, argIndex)) {
+					return;
+				}
 				if (argument.isPositional()) {
 					argIndex++;
 				}
 			}
-			ReflectionUtils.invoke(handleMethod, this, handleMethodValues);
 		} finally {
-			parsedValuesStorage.clear();
+			restoreParsedValuesFrame(previousFrame);
 		}
 	}
 
 	@Override
-	public List<String> getAutoComplete(CommandContext context) {
+	public CompletableFuture<List<String>> getAutoCompleteAsync(CommandContext context) {
+		CommandCompletionSink completions = new CommandCompletionSink();
+		return getAutoCompleteAsync(context, completions).thenApply(v -> completions.getCompletions());
+	}
+
+	@Override
+	public CompletableFuture<Void> getAutoCompleteAsync(CommandContext context, CommandCompletionSink completions) {
+		Object[] frame = new Object[handleMethodArguments.length];
+		Object[] previousFrame = parsedValuesFrame.get();
+		parsedValuesFrame.set(frame);
 		try {
 			int argIndex = 0;
 			for (int i = 0; i < handleMethodArguments.length; i++) {
-				Tuple<String, CommandArgument<Object>> tuple = handleMethodArguments[i];
-				CommandArgument<Object> argument = tuple.getObject2();
+				CommandArgument<Object> argument = handleMethodArguments[i].getObject2();
 				if (argument.isPositional() && !context.hasArg(argIndex + 1)) {
-					return argument.complete(context, argIndex);
+					if (argument.isCompleteAsync()) {
+						return FutureUtils.withFallback(
+							argument.completeAsync(context, argIndex), Collections.emptyList(),
+							argument.getCompleteTimeout(), TimeUnit.MILLISECONDS
+						).thenAccept(completions::addAll);
+					}
+					argument.complete(context, argIndex, completions);
+					break;
+				}
+				if (!parseForComplete(context, frame, i, argIndex)) {
+					break;
 				}
-				parsedValuesStorage.put(tuple.getObject1(), argument.parse(context, argIndex));
 				if (argument.isPositional()) {
 					argIndex++;
 				}
 			}
 		} finally {
-			parsedValuesStorage.clear();
+			restoreParsedValuesFrame(previousFrame);
 		}
-		return Collections.emptyList();
+		return CompletableFuture.completedFuture(null);
 	}
 
+	private void restoreParsedValuesFrame(Object[] previousFrame) {
+		if (previousFrame != null) {
+			parsedValuesFrame.set(previousFrame);
+		} else {
+			parsedValuesFrame.remove();
+		}
+	}
+
+	private final CommandHelpCache helpCache = new CommandHelpCache();
+	private long helpRevision;
+
+	/*
+	 * Help is cached per label until messages revision or help revision changes
+	 */
 	@Override
 	public List<String> getHelpMessages(String commandLabel) {
+		return helpCache.get(commandLabel, helper.getMessages(), helpRevision, this::renderHelpMessages);
+	}
+
+	@Override
+	public long getHelpRevision() {
+		return helpRevision;
+	}
+
+	/*
+	 * Help revision change also invalidates help cached by routers this command is added to
+	 */
+	@Override
+	public void invalidateHelpCache() {
+		helpRevision++;
+	}
+
+	protected List<String> renderHelpMessages(String commandLabel) {
 		StringBuilder help = new StringBuilder(100);
 		help.append(commandLabel);
 		help.append(helper.getMessages().getHelpArgsColor());
@@ -282,6 +524,84 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 		 */
 		protected abstract V parse(CommandContext context, int argIndex);
 
+		/**
+		 * Returns parse result, used when parse fail is expected (for example when parsing preceding arguments for tab-complete) <br>
+		 * Default implementation converts {@link CommandResponseException} thrown by {@link #parse(CommandContext, int)} to failed result
+		 * @param context command context
+		 * @param argIndex current argument index
+		 * @return parse result
+		 */
+		protected ParseResult<V> tryParse(CommandContext context, int argIndex) {
+			try {
+				return ParseResult.success(parse(context, argIndex));
+			} catch (CommandResponseException e) {
+				return ParseResult.failure(e::getMessage);
+			}
+		}
+
+		/**
+		 * Returns provided result if it is failed or value passes validator, otherwise returns failed result with validator message
+		 * @param result parse result
+		 * @param validator validator, throws {@link CommandResponseException} on validation fail
+		 * @return validated result
+		 */
+		protected <T> ParseResult<T> validated(ParseResult<T> result, Consumer<T> validator) {
+			if (!result.isSuccess()) {
+				return result;
+			}
+			try {
+				validator.accept(result.getValue());
+				return result;
+			} catch (CommandResponseException e) {
+				return ParseResult.failure(e::getMessage);
+			}
+		}
+
+		/**
+		 * Returns provided result if it is failed or value passes validator, otherwise returns failed result with lazily created invalid message
+		 * @param result parse result
+		 * @param validator validator
+		 * @param invalidMessage invalid message function, called only if message is needed
+		 * @return validated result
+		 */
+		protected <T> ParseResult<T> validated(ParseResult<T> result, Predicate<T> validator, Function<T, String> invalidMessage) {
+			if (!result.isSuccess()) {
+				return result;
+			}
+			T value = result.getValue();
+			return validator.test(value) ? result : ParseResult.failure(() -> invalidMessage.apply(value));
+		}
+
+		/**
+		 * Returns if subclass overrides legacy exception based validate method, which then has to be used instead of boolean validation
+		 * @param base argument class that declares validate method
+		 * @return true if validate method is overridden
+		 */
+		protected boolean isValidateOverridden(Class<?> base) {
+			return ReflectionUtils.isDeclaredBelow(getClass(), base, "validate", 1);
+		}
+
+		/**
+		 * Returns if parsing is asynchronous <br>
+		 * If true, {@link #parseAsync(CommandContext, int)} is used for parsing, otherwise {@link #parse(CommandContext, int)} is used
+		 * @return true if parsing is asynchronous
+		 */
+		protected boolean isParseAsync() {
+			return false;
+		}
+
+		/**
+		 * Returns future of parsed value, used only if {@link #isParseAsync()} returns true <br>
+		 * Command handling continues on the main thread once future completes (future may complete on any thread) <br>
+		 * Can also throw or complete exceptionally with {@link CommandResponseException} to interrupt command handling and send player a message
+		 * @param context command context
+		 * @param argIndex current argument index
+		 * @return future of parsed value
+		 */
+		protected CompletableFuture<V> parseAsync(CommandContext context, int argIndex) {
+			return CompletableFuture.completedFuture(parse(context, argIndex));
+		}
+
 		/**
 		 * Returns list of strings for tab-complete <br>
 		 * Can also throw {@link CommandResponseException} to cancel tab-complete
@@ -291,6 +611,47 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 		 */
 		protected abstract List<String> complete(CommandContext context, int argIndex);
 
+		/**
+		 * Adds strings for tab-complete to completions sink, should stop generating values once sink is full <br>
+		 * Default implementation just adds {@link #complete(CommandContext, int)} result <br>
+		 * Can also throw {@link CommandResponseException} to cancel tab-complete
+		 * @param context command context
+		 * @param argIndex current argument index
+		 * @param completions completions sink
+		 */
+		protected void complete(CommandContext context, int argIndex, CommandCompletionSink completions) {
+			completions.addAll(complete(context, argIndex));
+		}
+
+		/**
+		 * Returns if tab-complete is asynchronous <br>
+		 * If true, {@link #completeAsync(CommandContext, int)} is used for tab-complete, otherwise {@link #complete(CommandContext, int, CommandCompletionSink)} is used
+		 * @return true if tab-complete is asynchronous
+		 */
+		protected boolean isCompleteAsync() {
+			return false;
+		}
+
+		/**
+		 * Returns future of list of strings for tab-complete, used only if {@link #isCompleteAsync()} returns true <br>
+		 * May be called off the main thread, values of other arguments are only available while this method is running (not in future callbacks) <br>
+		 * Can also throw {@link CommandResponseException} or complete exceptionally to cancel tab-complete
+		 * @param context command context
+		 * @param argIndex current argument index
+		 * @return future of list of strings for tab-complete response
+		 */
+		protected CompletableFuture<List<String>> completeAsync(CommandContext context, int argIndex) {
+			return CompletableFuture.completedFuture(complete(context, argIndex));
+		}
+
+		/**
+		 * Returns max time for {@link #completeAsync(CommandContext, int)} future to complete, empty tab-complete response is used after that
+		 * @return timeout in milliseconds
+		 */
+		protected long getCompleteTimeout() {
+			return 1000;
+		}
+
 		protected abstract String getHelpMessage();
 
 	}
@@ -405,6 +766,35 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 			}
 		}
 
+		/*
+		 * If is optional and argument raw value doesn't exist, return result from {@link #tryParseValue(String)} using null
+		 * If argument raw value doesn't exist, return failed result (without creating an exception)
+		 * Otherwise, return result from {@link #tryParseValue(String)} using raw argument value from provided argIndex
+		 */
+		@Override
+		protected ParseResult<V> tryParse(CommandContext context, int argIndex) {
+			if (!context.hasArg(argIndex)) {
+				if (isOptional()) {
+					return tryParseValue(null);
+				}
+				return ParseResult.failure(() -> helper.getMessages().getArgIndexErrorOOBMessage(argIndex));
+			}
+			return tryParseValue(context.getArg(argIndex));
+		}
+
+		/*
+		 * If is optional and argument raw value doesn't exist, return result from {@link #parseValueAsync(String)} using null
+		 * Otherwise, return result from {@link #parseValueAsync(String)} using raw argument value from provided argIndex
+		 */
+		@Override
+		protected CompletableFuture<V> parseAsync(CommandContext context, int argIndex) {
+			if (isOptional() && !context.hasArg(argIndex)) {
+				return parseValueAsync(null);
+			} else {
+				return parseValueAsync(context.getArg(argIndex));
+			}
+		}
+
 		/*
 		 * If argument raw value of this argIndex doesn't exist, return result from {@link #parseValue(String)} using empty string
 		 * Otherwise, return result from {@link #parseValue(String)} using raw argument value from provided argIndex
@@ -418,6 +808,32 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 			}
 		}
 
+		/*
+		 * If argument raw value of this argIndex doesn't exist, use {@link #complete(String, CommandCompletionSink)} with empty string
+		 * Otherwise, use {@link #complete(String, CommandCompletionSink)} with raw argument value from provided argIndex
+		 */
+		@Override
+		protected void complete(CommandContext context, int argIndex, CommandCompletionSink completions) {
+			if (!context.hasArg(argIndex)) {
+				complete("", completions);
+			} else {
+				complete(context.getArg(argIndex), completions);
+			}
+		}
+
+		/*
+		 * If argument raw value of this argIndex doesn't exist, return result from {@link #completeAsync(String)} using empty string
+		 * Otherwise, return result from {@link #completeAsync(String)} using raw argument value from provided argIndex
+		 */
+		@Override
+		protected CompletableFuture<List<String>> completeAsync(CommandContext context, int argIndex) {
+			if (!context.hasArg(argIndex)) {
+				return completeAsync("");
+			} else {
+				return completeAsync(context.getArg(argIndex));
+			}
+		}
+
 		/**
 		 * Returns parsed value from provided raw value <br>
 		 * Can also throw {@link CommandResponseException} to interrupt command handling and send player a message
@@ -426,6 +842,31 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 		 */
 		protected abstract V parseValue(String arg);
 
+		/**
+		 * Returns parse result from provided raw value <br>
+		 * Default implementation converts {@link CommandResponseException} thrown by {@link #parseValue(String)} to failed result, override together with {@link #parseValue(String)} to avoid the exception
+		 * @param arg raw value
+		 * @return parse result
+		 */
+		protected ParseResult<V> tryParseValue(String arg) {
+			try {
+				return ParseResult.success(parseValue(arg));
+			} catch (CommandResponseException e) {
+				return ParseResult.failure(e::getMessage);
+			}
+		}
+
+		/**
+		 * Returns future of parsed value from provided raw value, used only if {@link #isParseAsync()} returns true <br>
+		 * Override to do lookups that are slow or need to be done on another thread, future may complete on any thread <br>
+		 * Can also throw or complete exceptionally with {@link CommandResponseException} to interrupt command handling and send player a message
+		 * @param arg raw value
+		 * @return future of parsed value
+		 */
+		protected CompletableFuture<V> parseValueAsync(String arg) {
+			return CompletableFuture.completedFuture(parseValue(arg));
+		}
+
 		/**
 		 * Returns list of strings for tab-complete for provided raw value <br>
 		 * Can also throw {@link CommandResponseException} to cancel tab-complete
@@ -434,6 +875,28 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 		 */
 		protected abstract List<String> complete(String arg);
 
+		/**
+		 * Adds strings for tab-complete for provided raw value to completions sink, should stop generating values once sink is full <br>
+		 * Default implementation just adds {@link #complete(String)} result, override when there are a lot of possible values <br>
+		 * Can also throw {@link CommandResponseException} to cancel tab-complete
+		 * @param arg raw value
+		 * @param completions completions sink
+		 */
+		protected void complete(String arg, CommandCompletionSink completions) {
+			completions.addAll(complete(arg));
+		}
+
+		/**
+		 * Returns future of list of strings for tab-complete for provided raw value <br>
+		 * Override (together with {@link #isCompleteAsync()}) to do lookups that are slow or need to be done on another thread, may be called off the main thread <br>
+		 * Can also throw {@link CommandResponseException} or complete exceptionally to cancel tab-complete
+		 * @param arg raw value
+		 * @return future of list of strings for tab-complete response
+		 */
+		protected CompletableFuture<List<String>> completeAsync(String arg) {
+			return CompletableFuture.completedFuture(complete(arg));
+		}
+
 		/**
 		 * Returns if value is optional and the parse value logic should decide on default value if player didn't input one
 		 * @return true if value is optional
@@ -459,18 +922,66 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 	@CommandArgumentDefinition(CommandBasic.CommandArgumentSenderPlayer.class)
 	protected class CommandArgumentSenderPlayer extends CommandArgumentSender<Player> {
 
+		private final boolean validateOverridden = isValidateOverridden(CommandArgumentSenderPlayer.class);
+
 		@Override
 		public Player parseSender(CommandSender sender) {
-			Player player = helper.getSenderAsPlayer(sender, helper.getMessages().getArgSenderPlayerErrorNotPlayerMessage());
-			validate(player);
-			return player;
+			return tryParseSender(sender).orThrow();
+		}
+
+		/*
+		 * Parse fail is reported by result, so non player sender doesn't need an exception
+		 */
+		@Override
+		protected ParseResult<Player> tryParse(CommandContext context, int argIndex) {
+			return tryParseSender(context.getSender());
+		}
+
+		/**
+		 * Returns parse result from command sender
+		 * @param sender command sender
+		 * @return player or failure with message from {@link CommandMessages#getArgSenderPlayerErrorNotPlayerMessage()} or validation fail message
+		 */
+		protected ParseResult<Player> tryParseSender(CommandSender sender) {
+			if (!(sender instanceof Player)) {
+				return ParseResult.failure(() -> helper.getMessages().getArgSenderPlayerErrorNotPlayerMessage());
+			}
+			ParseResult<Player> result = ParseResult.success((Player) sender);
+			if (validateOverridden) {
+				return validated(result, this::validate);
+			}
+			return validated(result, this::isValid, this::getInvalidMessage);
+		}
+
+		/**
+		 * Override to additionally validate player <br>
+		 * Override {@link #getInvalidMessage(Player)} too to provide validation fail message
+		 * @param player player
+		 * @return true if player is valid
+		 */
+		protected boolean isValid(Player player) {
+			return true;
 		}
 
 		/**
-		 * Override to additionally validate player
-		 * @param player
+		 * Returns validation fail message, called only if {@link #isValid(Player)} returned false and message is needed <br>
+		 * Default implementation returns message from {@link CommandMessages#getArgErrorInvalidValueMessage(String)}
+		 * @param player player
+		 * @return validation fail message
+		 */
+		protected String getInvalidMessage(Player player) {
+			return helper.getMessages().getArgErrorInvalidValueMessage(player.getName());
+		}
+
+		/**
+		 * Validates player using {@link #isValid(Player)} <br>
+		 * Overriding this is still supported, override {@link #isValid(Player)} instead
+		 * @param player player
 		 */
 		protected void validate(Player player) {
+			if (!isValid(player)) {
+				throw new CommandResponseException(getInvalidMessage(player));
+			}
 		}
 
 	}
@@ -479,7 +990,12 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 
 		@Override
 		public Boolean parseValue(String arg) {
-			return helper.parseBoolean(arg);
+			return tryParseValue(arg).orThrow();
+		}
+
+		@Override
+		protected ParseResult<Boolean> tryParseValue(String arg) {
+			return helper.tryParseBoolean(arg);
 		}
 
 		@Override
@@ -489,31 +1005,91 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 
 		@Override
 		public List<String> complete(String arg) {
-			return
-				Arrays.asList(helper.getMessages().getArgBooleanValueTrue(), helper.getMessages().getArgBooleanValueFalse()).stream()
-				.filter(b -> b.startsWith(arg))
-				.collect(Collectors.toList());
+			CommandCompletionSink completions = new CommandCompletionSink();
+			complete(arg, completions);
+			return completions.getCompletions();
+		}
+
+		@Override
+		protected void complete(String arg, CommandCompletionSink completions) {
+			String valueTrue = helper.getMessages().getArgBooleanValueTrue();
+			if (valueTrue.startsWith(arg) && !completions.add(valueTrue)) {
+				return;
+			}
+			String valueFalse = helper.getMessages().getArgBooleanValueFalse();
+			if (valueFalse.startsWith(arg)) {
+				completions.add(valueFalse);
+			}
 		}
 
 	}
 
 	protected class CommandArgumentOnlinePlayer extends CommandArgumentPositional<Player> {
 
+		private final boolean validateOverridden = isValidateOverridden(CommandArgumentOnlinePlayer.class);
+		private final boolean validatorOverridden = validateOverridden || ReflectionUtils.isDeclaredBelow(getClass(), CommandArgumentOnlinePlayer.class, "isValid", 1);
+
 		@Override
 		public Player parseValue(String arg) {
-			Player player = helper.parseOnlinePlayer(arg);
-			validate(player);
-			return player;
+			return tryParseValue(arg).orThrow();
+		}
+
+		@Override
+		protected ParseResult<Player> tryParseValue(String arg) {
+			if (validateOverridden) {
+				return validated(helper.tryParseOnlinePlayer(arg), this::validate);
+			}
+			return validated(helper.tryParseOnlinePlayer(arg), this::isValid, this::getInvalidMessage);
 		}
 
 		@Override
 		public List<String> complete(String arg) {
-			return
-				Bukkit.getOnlinePlayers().stream()
-				.filter(player -> player.getName().startsWith(arg))
-				.filter(helper.createPredicate(this::validate))
-				.map(Player::getName)
-				.collect(Collectors.toList());
+			CommandCompletionSink completions = new CommandCompletionSink();
+			complete(arg, completions);
+			return completions.getCompletions();
+		}
+
+		/*
+		 * Players are filtered using boolean validation, so rejected players don't cost an exception
+		 */
+		@Override
+		protected void complete(String arg, CommandCompletionSink completions) {
+			int limit = getCompleteLimit();
+			if (limit > 0) {
+				Predicate<Player> validator = validateOverridden ? helper.createPredicate(this::validate) : this::isValid;
+				int[] count = new int[1];
+				helper.forEachOnlinePlayerStartingWith(arg, isCompleteIgnoreCase(), player -> {
+					if (validator.test(player)) {
+						count[0]++;
+						return completions.add(player.getName()) && (count[0] < limit);
+					}
+					return true;
+				});
+			}
+		}
+
+		/*
+		 * Online players and validators use bukkit api, so when called off the main thread tab-complete is asynchronous and is done on the main thread
+		 * Unless tab-complete is thread-safe, in which case it is done inline on the calling thread
+		 */
+		@Override
+		protected boolean isCompleteAsync() {
+			return !isCompleteThreadSafe() && !Bukkit.isPrimaryThread();
+		}
+
+		/**
+		 * Returns if tab-complete can be done on any thread <br>
+		 * Default implementation returns true if helper uses online player name index and validator ({@link #isValid(Player)} or {@link #validate(Player)}) is not overridden <br>
+		 * Override to return true if overridden validator is thread-safe
+		 * @return true if tab-complete is thread-safe
+		 */
+		protected boolean isCompleteThreadSafe() {
+			return (helper.getOnlinePlayerNameIndex() != null) && !validatorOverridden;
+		}
+
+		@Override
+		protected CompletableFuture<List<String>> completeAsync(String arg) {
+			return supplySync(() -> complete(arg));
 		}
 
 		@Override
@@ -522,33 +1098,144 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 		}
 
 		/**
-		 * Override to additionally validate player
-		 * @param player
+		 * Override to additionally validate player (used for both parsing and tab-complete filtering) <br>
+		 * Override {@link #getInvalidMessage(Player)} too to provide validation fail message
+		 * @param player player
+		 * @return true if player is valid
+		 */
+		protected boolean isValid(Player player) {
+			return true;
+		}
+
+		/**
+		 * Returns validation fail message, called only if {@link #isValid(Player)} returned false and message is needed <br>
+		 * Default implementation returns message from {@link CommandMessages#getArgOnlinePlayerErrorNotOnlineMessage(String)}
+		 * @param player player
+		 * @return validation fail message
+		 */
+		protected String getInvalidMessage(Player player) {
+			return helper.getMessages().getArgOnlinePlayerErrorNotOnlineMessage(player.getName());
+		}
+
+		/**
+		 * Validates player using {@link #isValid(Player)} <br>
+		 * Overriding this is still supported, but then every rejected tab-complete value costs an exception, override {@link #isValid(Player)} instead
+		 * @param player player
 		 */
 		protected void validate(Player player) {
+			if (!isValid(player)) {
+				throw new CommandResponseException(getInvalidMessage(player));
+			}
+		}
+
+		/**
+		 * Returns max tab-complete names count
+		 * @return max names count
+		 */
+		protected int getCompleteLimit() {
+			return Integer.MAX_VALUE;
+		}
+
+		/**
+		 * Returns if tab-complete should match names ignoring case
+		 * @return true if tab-complete should ignore case
+		 */
+		protected boolean isCompleteIgnoreCase() {
+			return false;
 		}
 
 	}
 
 	protected class CommandArgumentOfflinePlayer<V extends PlayerInfo> extends CommandArgumentPositional<V> {
 
-		@SuppressWarnings("unchecked")
+		private final boolean validateOverridden = isValidateOverridden(CommandArgumentOfflinePlayer.class);
+		private final boolean validatorOverridden = validateOverridden || ReflectionUtils.isDeclaredBelow(getClass(), CommandArgumentOfflinePlayer.class, "isValid", 1);
+
 		@Override
 		public V parseValue(String arg) {
-			V player = (V) helper.parseOfflinePlayer(arg);
-			validate(player);
-			return player;
+			return tryParseValue(arg).orThrow();
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		protected ParseResult<V> tryParseValue(String arg) {
+			ParseResult<V> result = (ParseResult<V>) helper.tryParseOfflinePlayer(arg);
+			if (validateOverridden) {
+				return validated(result, this::validate);
+			}
+			return validated(result, this::isValid, this::getInvalidMessage);
+		}
+
+		/*
+		 * Asynchronous player info provider lookups need storage access, so they are not done on the main thread
+		 */
+		@Override
+		protected boolean isParseAsync() {
+			return helper.getPlayersInfoProvider() instanceof AsyncPlayerInfoProvider;
 		}
 
 		@SuppressWarnings("unchecked")
 		@Override
+		protected CompletableFuture<V> parseValueAsync(String arg) {
+			return ((CompletableFuture<V>) helper.parseOfflinePlayerAsync(arg)).thenApply(player -> {
+				if (validateOverridden) {
+					validate(player);
+				} else if (!isValid(player)) {
+					throw new CommandResponseException(getInvalidMessage(player));
+				}
+				return player;
+			});
+		}
+
+		/*
+		 * Uses player info provider name prefix iteration, so cached providers complete all known players (not only online ones)
+		 */
+		@Override
 		public List<String> complete(String arg) {
-			return
-				Bukkit.getOnlinePlayers().stream()
-				.filter(player -> player.getName().startsWith(arg))
-				.filter(helper.createPredicate(player -> validate((V) helper.getPlayersInfoProvider().createFromPlayer(player))))
-				.map(Player::getName)
-				.collect(Collectors.toList());
+			CommandCompletionSink completions = new CommandCompletionSink();
+			complete(arg, completions);
+			return completions.getCompletions();
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		protected void complete(String arg, CommandCompletionSink completions) {
+			int limit = getCompleteLimit();
+			if (limit > 0) {
+				Predicate<V> validator = validateOverridden ? helper.createPredicate(this::validate) : this::isValid;
+				int[] count = new int[1];
+				helper.getPlayersInfoProvider().forEachStartingWith(arg, isCompleteIgnoreCase(), (PlayerInfo player) -> {
+					if (validator.test((V) player)) {
+						count[0]++;
+						return completions.add(player.getName()) && (count[0] < limit);
+					}
+					return true;
+				});
+			}
+		}
+
+		/*
+		 * Player info providers and validators may use bukkit api, so when called off the main thread tab-complete is asynchronous and is done on the main thread
+		 * Unless tab-complete is thread-safe (like with cached providers), in which case it is done inline on the calling thread
+		 */
+		@Override
+		protected boolean isCompleteAsync() {
+			return !isCompleteThreadSafe() && !Bukkit.isPrimaryThread();
+		}
+
+		/**
+		 * Returns if tab-complete can be done on any thread <br>
+		 * Default implementation returns true if player info provider name prefix iteration is thread-safe ({@link PlayerInfoProvider#isForEachStartingWithThreadSafe()}) and validator ({@link #isValid(PlayerInfo)} or {@link #validate(PlayerInfo)}) is not overridden <br>
+		 * Override to return true if overridden validator is thread-safe
+		 * @return true if tab-complete is thread-safe
+		 */
+		protected boolean isCompleteThreadSafe() {
+			return helper.getPlayersInfoProvider().isForEachStartingWithThreadSafe() && !validatorOverridden;
+		}
+
+		@Override
+		protected CompletableFuture<List<String>> completeAsync(String arg) {
+			return supplySync(() -> complete(arg));
 		}
 
 		@Override
@@ -557,10 +1244,50 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 		}
 
 		/**
-		 * Override to additionally validate player
-		 * @param player
+		 * Override to additionally validate player (used for both parsing and tab-complete filtering) <br>
+		 * Override {@link #getInvalidMessage(PlayerInfo)} too to provide validation fail message
+		 * @param player player
+		 * @return true if player is valid
+		 */
+		protected boolean isValid(V player) {
+			return true;
+		}
+
+		/**
+		 * Returns validation fail message, called only if {@link #isValid(PlayerInfo)} returned false and message is needed <br>
+		 * Default implementation returns message from {@link CommandMessages#getArgOfflinePlayerErrorNeverPlayedMessage(String)}
+		 * @param player player
+		 * @return validation fail message
+		 */
+		protected String getInvalidMessage(V player) {
+			return helper.getMessages().getArgOfflinePlayerErrorNeverPlayedMessage(player.getName());
+		}
+
+		/**
+		 * Validates player using {@link #isValid(PlayerInfo)} <br>
+		 * Overriding this is still supported, but then every rejected tab-complete value costs an exception, override {@link #isValid(PlayerInfo)} instead
+		 * @param player player
 		 */
 		protected void validate(V player) {
+			if (!isValid(player)) {
+				throw new CommandResponseException(getInvalidMessage(player));
+			}
+		}
+
+		/**
+		 * Returns max tab-complete names count
+		 * @return max names count
+		 */
+		protected int getCompleteLimit() {
+			return Integer.MAX_VALUE;
+		}
+
+		/**
+		 * Returns if tab-complete should match names ignoring case
+		 * @return true if tab-complete should ignore case
+		 */
+		protected boolean isCompleteIgnoreCase() {
+			return false;
 		}
 
 	}
@@ -581,11 +1308,19 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 
 	protected abstract class CommandArgumentInteger extends CommandArgumentPositional<Integer> {
 
+		private final boolean validateOverridden = isValidateOverridden(CommandArgumentInteger.class);
+
 		@Override
 		public Integer parseValue(String arg) {
-			int value = helper.parseInteger(arg);
-			validate(value);
-			return value;
+			return tryParseValue(arg).orThrow();
+		}
+
+		@Override
+		protected ParseResult<Integer> tryParseValue(String arg) {
+			if (validateOverridden) {
+				return validated(helper.tryParseInteger(arg), value -> validate(value));
+			}
+			return validated(helper.tryParseInteger(arg), value -> isValid(value), value -> getInvalidMessage(value));
 		}
 
 		@Override
@@ -594,21 +1329,53 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 		}
 
 		/**
-		 * Override to additionally validate integer
-		 * @param value
+		 * Override to additionally validate integer <br>
+		 * Override {@link #getInvalidMessage(int)} too to provide validation fail message
+		 * @param value value
+		 * @return true if value is valid
+		 */
+		protected boolean isValid(int value) {
+			return true;
+		}
+
+		/**
+		 * Returns validation fail message, called only if {@link #isValid(int)} returned false and message is needed <br>
+		 * Default implementation returns message from {@link CommandMessages#getArgErrorInvalidValueMessage(String)}
+		 * @param value value
+		 * @return validation fail message
+		 */
+		protected String getInvalidMessage(int value) {
+			return helper.getMessages().getArgErrorInvalidValueMessage(String.valueOf(value));
+		}
+
+		/**
+		 * Validates integer using {@link #isValid(int)} <br>
+		 * Overriding this is still supported, override {@link #isValid(int)} instead
+		 * @param value value
 		 */
 		protected void validate(int value) {
+			if (!isValid(value)) {
+				throw new CommandResponseException(getInvalidMessage(value));
+			}
 		}
 
 	}
 
 	protected abstract class CommandArgumentDouble extends CommandArgumentPositional<Double> {
 
+		private final boolean validateOverridden = isValidateOverridden(CommandArgumentDouble.class);
+
 		@Override
 		protected Double parseValue(String arg) {
-			double value = helper.parseDouble(arg);
-			validate(value);
-			return value;
+			return tryParseValue(arg).orThrow();
+		}
+
+		@Override
+		protected ParseResult<Double> tryParseValue(String arg) {
+			if (validateOverridden) {
+				return validated(helper.tryParseDouble(arg), value -> validate(value));
+			}
+			return validated(helper.tryParseDouble(arg), value -> isValid(value), value -> getInvalidMessage(value));
 		}
 
 		@Override
@@ -617,10 +1384,34 @@ public abstract class CommandBasic<H extends CommandHelper<?, ?, ?>> implements
 		}
 
 		/**
-		 * Override to additionally validate double
-		 * @param value
+		 * Override to additionally validate double <br>
+		 * Override {@link #getInvalidMessage(double)} too to provide validation fail message
+		 * @param value value
+		 * @return true if value is valid
+		 */
+		protected boolean isValid(double value) {
+			return true;
+		}
+
+		/**
+		 * Returns validation fail message, called only if {@link #isValid(double)} returned false and message is needed <br>
+		 * Default implementation returns message from {@link CommandMessages#getArgErrorInvalidValueMessage(String)}
+		 * @param value value
+		 * @return validation fail message
+		 */
+		protected String getInvalidMessage(double value) {
+			return helper.getMessages().getArgErrorInvalidValueMessage(String.valueOf(value));
+		}
+
+		/**
+		 * Validates double using {@link #isValid(double)} <br>
+		 * Overriding this is still supported, override {@link #isValid(double)} instead
+		 * @param value value
 		 */
 		protected void validate(double value) {
+			if (!isValid(value)) {
+				throw new CommandResponseException(getInvalidMessage(value));
+			}
 		}
 
 	}
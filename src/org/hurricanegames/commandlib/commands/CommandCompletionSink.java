@@ -0,0 +1,86 @@
+package org.hurricanegames.commandlib.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Tab-complete values collector with max values count<br>
+ * Completions should stop generating values once {@link #add(String)} returns false (or {@link #isFull()} returns true)<br>
+ * Values are passed through the mapper when added (executor uses it to escape values), mapper can return null to skip value<br>
+ * <br>
+ * Not thread-safe, asynchronous completions should add values from a single thread
+ */
+public class CommandCompletionSink {
+
+	protected final int limit;
+	protected final UnaryOperator<String> mapper;
+	protected final List<String> completions = new ArrayList<>();
+
+	public CommandCompletionSink() {
+		this(Integer.MAX_VALUE);
+	}
+
+	public CommandCompletionSink(int limit) {
+		this(limit, null);
+	}
+
+	/**
+	 * Creates sink
+	 * @param limit max values count
+	 * @param mapper value mapper (returns null to skip value) or null
+	 */
+	public CommandCompletionSink(int limit, UnaryOperator<String> mapper) {
+		this.limit = limit;
+		this.mapper = mapper;
+	}
+
+	/**
+	 * Adds value
+	 * @param completion value
+	 * @return false if sink is full and no more values should be added
+	 */
+	public boolean add(String completion) {
+		if (completions.size() >= limit) {
+			return false;
+		}
+		if (mapper != null) {
+			completion = mapper.apply(completion);
+		}
+		if (completion != null) {
+			completions.add(completion);
+		}
+		return completions.size() < limit;
+	}
+
+	/**
+	 * Adds values until sink is full
+	 * @param completions values
+	 * @return false if sink is full and no more values should be added
+	 */
+	public boolean addAll(Iterable<String> completions) {
+		for (String completion : completions) {
+			if (!add(completion)) {
+				return false;
+			}
+		}
+		return !isFull();
+	}
+
+	public boolean isFull() {
+		return completions.size() >= limit;
+	}
+
+	/**
+	 * Returns how many more values can be added
+	 * @return remaining values count
+	 */
+	public int getRemaining() {
+		return Math.max(limit - completions.size(), 0);
+	}
+
+	public List<String> getCompletions() {
+		return completions;
+	}
+
+}
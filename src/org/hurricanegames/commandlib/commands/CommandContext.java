@@ -4,41 +4,121 @@ import java.util.Arrays;
 
 import org.bukkit.command.CommandSender;
 
+/**
+ * Command context<br>
+ * Sub contexts are views over the same args array (with offset), their command label is built only when requested
+ */
 public class CommandContext {
 
 	protected final CommandMessages messagesprovider;
 
 	protected final CommandSender sender;
-	protected final String command;
 	protected final String[] args;
+	protected final int[] argsPositions;
+	protected final int argsOffset;
+
+	/*
+	 * Bukkit args that args were tokenized from, joined to raw input only when needed (for error messages)
+	 */
+	protected final String[] rawArgs;
+	protected String input;
+
+	/*
+	 * Parent context and absolute index of the arg that is appended to parent command label to get this context command label
+	 * Used to build command label lazily
+	 */
+	protected final CommandContext parent;
+	protected final int commandArgIndex;
+	protected String command;
 
 	public CommandContext(CommandMessages messagesprovider, CommandSender sender, String command, String[] args) {
+		this(messagesprovider, sender, command, args.clone(), null, null, 0, null, -1);
+	}
+
+	protected CommandContext(
+		CommandMessages messagesprovider, CommandSender sender, String command,
+		String[] args, int[] argsPositions, String[] rawArgs, int argsOffset,
+		CommandContext parent, int commandArgIndex
+	) {
 		this.messagesprovider = messagesprovider;
 		this.sender = sender;
 		this.command = command;
-		this.args = args.clone();
+		this.args = args;
+		this.argsPositions = argsPositions;
+		this.rawArgs = rawArgs;
+		this.argsOffset = argsOffset;
+		this.parent = parent;
+		this.commandArgIndex = commandArgIndex;
 	}
 
 	public String getCommand() {
+		String command = this.command;
+		if (command == null) {
+			command = parent.getCommand() + " " + args[commandArgIndex];
+			this.command = command;
+		}
 		return command;
 	}
 
 	public String[] getArgs() {
-		return args.clone();
+		return Arrays.copyOfRange(args, argsOffset, args.length);
+	}
+
+	public int getArgsCount() {
+		return args.length - argsOffset;
 	}
 
 	public boolean hasArg(int argIndex) {
-		return (argIndex >= 0) && (argIndex < args.length);
+		return (argIndex >= 0) && (argIndex < (args.length - argsOffset));
 	}
 
 	public String getArg(int argIndex) {
 		if (argIndex < 0) {
 			throw new CommandResponseException(messagesprovider.getArgIndexErrorNegativeMessage());
 		}
-		if (argIndex >= args.length) {
+		if (argIndex >= (args.length - argsOffset)) {
 			throw new CommandResponseException(messagesprovider.getArgIndexErrorOOBMessage(argIndex));
 		}
-		return args[argIndex];
+		return args[argsOffset + argIndex];
+	}
+
+	/**
+	 * Returns position of the arg in the raw command input (char offset in bukkit args joined by space)
+	 * @param argIndex arg index
+	 * @return arg position or -1 if arg doesn't exist or position is unknown
+	 */
+	public int getArgPosition(int argIndex) {
+		if ((argsPositions == null) || !hasArg(argIndex)) {
+			return -1;
+		}
+		return argsPositions[argsOffset + argIndex];
+	}
+
+	/**
+	 * Returns end position of the arg in the raw command input (exclusive)
+	 * @param argIndex arg index
+	 * @return arg end position or -1 if arg doesn't exist or position is unknown
+	 */
+	public int getArgEndPosition(int argIndex) {
+		if ((argsPositions == null) || (rawArgs == null) || !hasArg(argIndex)) {
+			return -1;
+		}
+		int absoluteIndex = argsOffset + argIndex;
+		//tokens are separated by exactly one space (bukkit args separator)
+		return (absoluteIndex + 1) < args.length ? argsPositions[absoluteIndex + 1] - 1 : getInput().length();
+	}
+
+	/**
+	 * Returns raw command input (bukkit args joined by space), which is referenced by arg positions
+	 * @return raw command input or null if unknown
+	 */
+	public String getInput() {
+		String input = this.input;
+		if ((input == null) && (rawArgs != null)) {
+			input = parent != null ? parent.getInput() : String.join(" ", rawArgs);
+			this.input = input;
+		}
+		return input;
 	}
 
 	public CommandSender getSender() {
@@ -49,7 +129,7 @@ public class CommandContext {
 		if (argIndexStart == 0) {
 			return this;
 		} else {
-			return new CommandContext(messagesprovider, sender, command + " " + args[argIndexStart - 1], Arrays.copyOfRange(args, argIndexStart, args.length));
+			return new CommandContext(messagesprovider, sender, null, args, argsPositions, rawArgs, argsOffset + argIndexStart, this, argsOffset + argIndexStart - 1);
 		}
 	}
 
@@ -0,0 +1,85 @@
+package org.hurricanegames.commandlib.commands;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Caches rendered help lines per command label<br>
+ * Cached lines are rendered again when messages revision (see {@link CommandMessages#getRevision()}) or help revision (see {@link Command#getHelpRevision()}) changes, or cache is invalidated
+ */
+public class CommandHelpCache {
+
+	protected final Map<String, CachedHelp> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns cached help lines for label, rendering them if they are not cached or messages or help revision changed
+	 * @param label command label
+	 * @param messages messages
+	 * @param helpRevision help revision
+	 * @param renderer help lines renderer
+	 * @return unmodifiable help lines
+	 */
+	public List<String> get(String label, CommandMessages messages, long helpRevision, Function<String, List<String>> renderer) {
+		long revision = messages.getRevision();
+		CachedHelp cached = cache.get(label);
+		if ((cached == null) || (cached.revision != revision) || (cached.helpRevision != helpRevision)) {
+			cached = new CachedHelp(revision, helpRevision, Collections.unmodifiableList(renderer.apply(label)));
+			cache.put(label, cached);
+		}
+		return cached.lines;
+	}
+
+	/**
+	 * Returns help page (view of cached help lines)
+	 * @param label command label
+	 * @param messages messages
+	 * @param helpRevision help revision
+	 * @param renderer help lines renderer
+	 * @param page page number (starting from 1)
+	 * @param pageSize page size
+	 * @return unmodifiable page help lines, empty if page doesn't exist
+	 */
+	public List<String> getPage(String label, CommandMessages messages, long helpRevision, Function<String, List<String>> renderer, int page, int pageSize) {
+		List<String> lines = get(label, messages, helpRevision, renderer);
+		int from = (page - 1) * pageSize;
+		if ((page < 1) || (from >= lines.size())) {
+			return Collections.emptyList();
+		}
+		return lines.subList(from, Math.min(from + pageSize, lines.size()));
+	}
+
+	/**
+	 * Returns help pages count
+	 * @param label command label
+	 * @param messages messages
+	 * @param helpRevision help revision
+	 * @param renderer help lines renderer
+	 * @param pageSize page size
+	 * @return pages count
+	 */
+	public int getPagesCount(String label, CommandMessages messages, long helpRevision, Function<String, List<String>> renderer, int pageSize) {
+		return (get(label, messages, helpRevision, renderer).size() + pageSize - 1) / pageSize;
+	}
+
+	public void invalidate() {
+		cache.clear();
+	}
+
+	protected static class CachedHelp {
+
+		protected final long revision;
+		protected final long helpRevision;
+		protected final List<String> lines;
+
+		protected CachedHelp(long revision, long helpRevision, List<String> lines) {
+			this.revision = revision;
+			this.helpRevision = helpRevision;
+			this.lines = lines;
+		}
+
+	}
+
+}
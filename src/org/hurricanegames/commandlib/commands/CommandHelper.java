@@ -1,7 +1,10 @@
 package org.hurricanegames.commandlib.commands;
 
 import java.text.MessageFormat;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -9,16 +12,31 @@ import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.permissions.Permissible;
+import org.hurricanegames.commandlib.providers.playerinfo.AsyncPlayerInfoProvider;
 import org.hurricanegames.commandlib.providers.playerinfo.PlayerInfo;
+import org.hurricanegames.commandlib.providers.playerinfo.OnlinePlayerNameIndex;
 import org.hurricanegames.commandlib.providers.playerinfo.PlayerInfoProvider;
+import org.hurricanegames.commandlib.utils.ParseUtils;
 
 public class CommandHelper<M extends CommandMessages, P extends PlayerInfo, PP extends PlayerInfoProvider<P>> {
 
 	private final M messagesProvider;
 	private final PP playerInfoProvider;
+	private final OnlinePlayerNameIndex onlinePlayerNameIndex;
 	public CommandHelper(M messages, PP playerInfoProvider) {
+		this(messages, playerInfoProvider, null);
+	}
+
+	/**
+	 * Creates helper
+	 * @param messages messages
+	 * @param playerInfoProvider player info provider
+	 * @param onlinePlayerNameIndex online player name index used for player names tab-complete (null to iterate online players instead)
+	 */
+	public CommandHelper(M messages, PP playerInfoProvider, OnlinePlayerNameIndex onlinePlayerNameIndex) {
 		this.messagesProvider = messages;
 		this.playerInfoProvider = playerInfoProvider;
+		this.onlinePlayerNameIndex = onlinePlayerNameIndex;
 	}
 
 	public M getMessages() {
@@ -29,6 +47,30 @@ public class CommandHelper<M extends CommandMessages, P extends PlayerInfo, PP e
 		return playerInfoProvider;
 	}
 
+	public OnlinePlayerNameIndex getOnlinePlayerNameIndex() {
+		return onlinePlayerNameIndex;
+	}
+
+	/**
+	 * Passes online players which names start with provided prefix to action until it returns false<br>
+	 * Uses {@link OnlinePlayerNameIndex} if available
+	 * @param prefix name prefix
+	 * @param ignoreCase true if prefix should be matched ignoring case
+	 * @param action player action, returns false to stop iteration
+	 */
+	public void forEachOnlinePlayerStartingWith(String prefix, boolean ignoreCase, Predicate<Player> action) {
+		if (onlinePlayerNameIndex != null) {
+			onlinePlayerNameIndex.forEachStartingWith(prefix, ignoreCase, action);
+		} else {
+			int prefixLength = prefix.length();
+			for (Player player : Bukkit.getOnlinePlayers()) {
+				if (player.getName().regionMatches(ignoreCase, 0, prefix, 0, prefixLength) && !action.test(player)) {
+					return;
+				}
+			}
+		}
+	}
+
 	public Player getSenderAsPlayer(CommandSender sender, String notAPlayerMessage) {
 		if (!(sender instanceof Player)) {
 			throw new CommandResponseException(notAPlayerMessage);
@@ -36,52 +78,119 @@ public class CommandHelper<M extends CommandMessages, P extends PlayerInfo, PP e
 		return (Player) sender;
 	}
 
+	/**
+	 * Parses string as online player (by uuid or exact name)
+	 * Throws {@link CommandResponseException} on parse fail with message from {@link CommandMessages#getArgOnlinePlayerErrorNotOnlineMessage(String)}
+	 * @param value value
+	 * @return online player
+	 */
 	public Player parseOnlinePlayer(String value) {
-		Player player = null;
-		try {
-			player = Bukkit.getPlayer(UUID.fromString(value));
-		} catch (Exception e) {
-			player = Bukkit.getPlayerExact(value);
-		}
-		return validateNotNull(player, getMessages().getArgOnlinePlayerErrorNotOnlineMessage(value));
+		return tryParseOnlinePlayer(value).orThrow();
 	}
 
+	/**
+	 * Parses string as online player (by uuid or exact name) without throwing on parse fail
+	 * @param value value
+	 * @return online player or failure with message from {@link CommandMessages#getArgOnlinePlayerErrorNotOnlineMessage(String)}
+	 */
+	public ParseResult<Player> tryParseOnlinePlayer(String value) {
+		UUID uuid = ParseUtils.parseUUID(value);
+		Player player = uuid != null ? Bukkit.getPlayer(uuid) : Bukkit.getPlayerExact(value);
+		return player != null ? ParseResult.success(player) : ParseResult.failure(() -> getMessages().getArgOnlinePlayerErrorNotOnlineMessage(value));
+	}
+
+	/**
+	 * Parses string as offline player (by uuid or name ignoring case)<br>
+	 * Player with unknown uuid is created using {@link PlayerInfoProvider#createUnknown(UUID)}<br>
+	 * Throws {@link CommandResponseException} on parse fail with message from {@link CommandMessages#getArgOfflinePlayerErrorNeverPlayedMessage(String)}
+	 * @param value value
+	 * @return offline player
+	 */
 	public P parseOfflinePlayer(String value) {
-		try {
-			UUID uuid = UUID.fromString(value);
-			P player = getPlayersInfoProvider().getByUUID(UUID.fromString(value));
-			return player != null ? player : getPlayersInfoProvider().createUnknown(uuid);
-		} catch (IllegalArgumentException e) {
-			return validateNotNull(getPlayersInfoProvider().getByName(value), getMessages().getArgOfflinePlayerErrorNeverPlayedMessage(value));
+		return tryParseOfflinePlayer(value).orThrow();
+	}
+
+	/**
+	 * Parses string as offline player (by uuid or name ignoring case) without throwing on parse fail
+	 * @param value value
+	 * @return offline player or failure with message from {@link CommandMessages#getArgOfflinePlayerErrorNeverPlayedMessage(String)}
+	 */
+	public ParseResult<P> tryParseOfflinePlayer(String value) {
+		UUID uuid = ParseUtils.parseUUID(value);
+		if (uuid != null) {
+			P player = getPlayersInfoProvider().getByUUID(uuid);
+			return ParseResult.success(player != null ? player : getPlayersInfoProvider().createUnknown(uuid));
 		}
+		P player = getPlayersInfoProvider().getByNameIgnoreCase(value);
+		return player != null ? ParseResult.success(player) : ParseResult.failure(() -> getMessages().getArgOfflinePlayerErrorNeverPlayedMessage(value));
 	}
 
 	/**
-	 * Parses string as integer (via {@link Integer#parseInt(String)})
+	 * Parses string as offline player using {@link AsyncPlayerInfoProvider} lookups, so main thread is never blocked by storage access<br>
+	 * If player info provider is not asynchronous, returns completed future of {@link #parseOfflinePlayer(String)}<br>
+	 * Future completes on the main thread, exceptionally with {@link CommandResponseException} with message from {@link CommandMessages#getArgOfflinePlayerErrorNeverPlayedMessage(String)} if player is not found by name
+	 * @param value value
+	 * @return future of player
+	 */
+	@SuppressWarnings("unchecked")
+	public CompletableFuture<P> parseOfflinePlayerAsync(String value) {
+		if (!(getPlayersInfoProvider() instanceof AsyncPlayerInfoProvider)) {
+			return CompletableFuture.completedFuture(parseOfflinePlayer(value));
+		}
+		AsyncPlayerInfoProvider<P> provider = (AsyncPlayerInfoProvider<P>) getPlayersInfoProvider();
+		UUID uuid = ParseUtils.parseUUID(value);
+		if (uuid == null) {
+			return provider.getByNameIgnoreCaseAsync(value).thenApply(player -> validateNotNull(player, getMessages().getArgOfflinePlayerErrorNeverPlayedMessage(value)));
+		}
+		return provider.getByUUIDAsync(uuid).thenApply(player -> player != null ? player : provider.createUnknown(uuid));
+	}
+
+	/**
+	 * Parses string as integer (accepts the same strings as {@link Integer#parseInt(String)})
 	 * Throws {@link CommandResponseException} on parse fail with message from {@link CommandMessages#getArgIntegerErrorNotIntegerMessage(String)}
 	 * @param value value
 	 * @return integer
 	 */
 	public int parseInteger(String value) {
-		try {
-			return Integer.parseInt(value);
-		} catch (NumberFormatException e) {
+		OptionalInt result = ParseUtils.parseInt(value);
+		if (!result.isPresent()) {
 			throw new CommandResponseException(getMessages().getArgIntegerErrorNotIntegerMessage(value));
 		}
+		return result.getAsInt();
 	}
 
 	/**
-	 * Parses string as double (via {@link Double#parseDouble(String)})
+	 * Parses string as integer without throwing on parse fail
+	 * @param value value
+	 * @return integer or failure with message from {@link CommandMessages#getArgIntegerErrorNotIntegerMessage(String)}
+	 */
+	public ParseResult<Integer> tryParseInteger(String value) {
+		OptionalInt result = ParseUtils.parseInt(value);
+		return result.isPresent() ? ParseResult.success(result.getAsInt()) : ParseResult.failure(() -> getMessages().getArgIntegerErrorNotIntegerMessage(value));
+	}
+
+	/**
+	 * Parses string as double (accepts the same strings as {@link Double#parseDouble(String)})
 	 * Throws {@link CommandResponseException} on parse fail with message from {@link CommandMessages#getArgDoubleErrorNotDoubleMessage(String)}
 	 * @param value value
 	 * @return double
 	 */
 	public double parseDouble(String value) {
-		try {
-			return Double.parseDouble(value);
-		} catch (NumberFormatException e) {
+		OptionalDouble result = ParseUtils.parseDouble(value);
+		if (!result.isPresent()) {
 			throw new CommandResponseException(getMessages().getArgDoubleErrorNotDoubleMessage(value));
 		}
+		return result.getAsDouble();
+	}
+
+	/**
+	 * Parses string as double without throwing on parse fail
+	 * @param value value
+	 * @return double or failure with message from {@link CommandMessages#getArgDoubleErrorNotDoubleMessage(String)}
+	 */
+	public ParseResult<Double> tryParseDouble(String value) {
+		OptionalDouble result = ParseUtils.parseDouble(value);
+		return result.isPresent() ? ParseResult.success(result.getAsDouble()) : ParseResult.failure(() -> getMessages().getArgDoubleErrorNotDoubleMessage(value));
 	}
 
 	/**
@@ -93,13 +202,22 @@ public class CommandHelper<M extends CommandMessages, P extends PlayerInfo, PP e
 	 * @return boolean
 	 */
 	public Boolean parseBoolean(String value) {
+		return tryParseBoolean(value).orThrow();
+	}
+
+	/**
+	 * Parses string as boolean without throwing on parse fail (see {@link #parseBoolean(String)})
+	 * @param value value
+	 * @return boolean or failure with message from {@link CommandMessages#getArgBooleanErrorNotBooleanMessage(String)}
+	 */
+	public ParseResult<Boolean> tryParseBoolean(String value) {
 		if (value.equalsIgnoreCase(getMessages().getArgBooleanValueTrue())) {
-			return Boolean.TRUE;
+			return ParseResult.success(Boolean.TRUE);
 		}
 		if (value.equalsIgnoreCase(getMessages().getArgBooleanValueFalse())) {
-			return Boolean.FALSE;
+			return ParseResult.success(Boolean.FALSE);
 		}
-		throw new CommandResponseException(getMessages().getArgBooleanErrorNotBooleanMessage(value));
+		return ParseResult.failure(() -> getMessages().getArgBooleanErrorNotBooleanMessage(value));
 	}
 
 	/**
@@ -160,7 +278,8 @@ public class CommandHelper<M extends CommandMessages, P extends PlayerInfo, PP e
 	}
 
 	/**
-	 * Creates predicate from validate methods (by catching the command response exception)
+	 * Creates predicate from validate methods (by catching the command response exception)<br>
+	 * Every rejected value costs an exception and a rendered message, so boolean validators (like {@code isValid} of command arguments) should be preferred
 	 * @param <T> predicate type
 	 * @param validate validate run
 	 * @return predicate
@@ -1,10 +1,22 @@
 package org.hurricanegames.commandlib.commands;
 
+import java.text.MessageFormat;
+
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 public interface CommandMessages {
 
+	/**
+	 * Returns messages revision, which should change every time messages change (used to invalidate cached help)<br>
+	 * Default implementation returns 0 (messages never change), implementations that can change messages (for example reload them) should either change revision,
+	 * or call {@link Command#invalidateHelpCache()} of root commands after messages change, otherwise stale help is shown
+	 * @return revision
+	 */
+	public default long getRevision() {
+		return 0;
+	}
+
 	public String getSubCommandLabelColor();
 
 	public String getHelpArgsColor();
@@ -17,6 +29,37 @@ public interface CommandMessages {
 
 	public String getSubCommandNotFoundMessage(String commandName);
 
+	/**
+	 * Adds pointer to the command argument that failed to parse to the parse error message
+	 * @param message parse error message
+	 * @param input raw command input (bukkit args joined by space)
+	 * @param start argument start position in input
+	 * @param end argument end position in input (exclusive)
+	 * @return message
+	 */
+	public default String getArgErrorPositionMessage(String message, String input, int start, int end) {
+		int contextStart = Math.max(0, start - 10);
+		return message + "\n" + (contextStart > 0 ? "..." : "") + input.substring(contextStart, end) + "<--[HERE]";
+	}
+
+	/**
+	 * Error message for command input that has opening quote without closing one
+	 * @return message
+	 */
+	public default String getArgsErrorUnclosedQuoteMessage() {
+		return "Unclosed quote";
+	}
+
+	/**
+	 * Header message for paginated help
+	 * @param page page number
+	 * @param pagesCount pages count
+	 * @return message
+	 */
+	public default String getHelpPageHeaderMessage(int page, int pagesCount) {
+		return MessageFormat.format("Help page {0}/{1}", page, pagesCount);
+	}
+
 	/**
 	 * Error message for sender player command argument<br>
 	 * Describes that {@link CommandSender} is not {@link Player}
@@ -64,6 +107,15 @@ public interface CommandMessages {
 	 */
 	public String getArgDoubleErrorNotDoubleMessage(String string);
 
+	/**
+	 * Error message for command argument value that was parsed, but was rejected by argument validator
+	 * @param string argument value
+	 * @return message
+	 */
+	public default String getArgErrorInvalidValueMessage(String string) {
+		return MessageFormat.format("Value {0} is not valid", string);
+	}
+
 	/**
 	 * Help message for boolean command argument
 	 * @return message
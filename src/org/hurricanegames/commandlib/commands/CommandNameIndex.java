@@ -0,0 +1,213 @@
+package org.hurricanegames.commandlib.commands;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Radix tree index of command names<br>
+ * Lookup costs O(name length), prefix iteration costs O(prefix length) + O(matched names)<br>
+ * When ignoring case, names are folded per char while walking the tree, so lookups don't allocate lower-cased strings<br>
+ * <br>
+ * Not thread-safe for modification, but safe for concurrent reads once populated (commands are expected to be registered once at startup)
+ * @param <V> value type
+ */
+public class CommandNameIndex<V> {
+
+	protected final boolean ignoreCase;
+	protected final Node<V> root = new Node<>(new char[0]);
+	protected int size;
+
+	public CommandNameIndex(boolean ignoreCase) {
+		this.ignoreCase = ignoreCase;
+	}
+
+	public boolean isIgnoreCase() {
+		return ignoreCase;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Puts value to the index, replacing value with the same name (or the same folded name if ignoring case)
+	 * @param name name
+	 * @param value value
+	 * @return previous value or null
+	 */
+	public V put(String name, V value) {
+		char[] key = new char[name.length()];
+		for (int i = 0; i < key.length; i++) {
+			key[i] = fold(name.charAt(i));
+		}
+
+		Node<V> node = root;
+		int keyIndex = 0;
+		while (keyIndex < key.length) {
+			int childIndex = node.findChild(key[keyIndex]);
+			if (childIndex < 0) {
+				Node<V> leaf = new Node<>(Arrays.copyOfRange(key, keyIndex, key.length));
+				node.insertChild(-childIndex - 1, leaf);
+				node = leaf;
+				break;
+			}
+			Node<V> child = node.children[childIndex];
+			char[] label = child.label;
+			int common = 1;
+			while ((common < label.length) && ((keyIndex + common) < key.length) && (label[common] == key[keyIndex + common])) {
+				common++;
+			}
+			if (common < label.length) {
+				Node<V> split = new Node<>(Arrays.copyOf(label, common));
+				child.label = Arrays.copyOfRange(label, common, label.length);
+				split.insertChild(0, child);
+				node.children[childIndex] = split;
+				child = split;
+			}
+			node = child;
+			keyIndex += common;
+		}
+
+		V previous = node.value;
+		if (node.name == null) {
+			size++;
+		}
+		node.name = name;
+		node.value = value;
+		return previous;
+	}
+
+	/**
+	 * Returns value by name
+	 * @param name name
+	 * @return value or null if not found
+	 */
+	public V get(String name) {
+		Node<V> node = root;
+		int length = name.length();
+		int nameIndex = 0;
+		while (nameIndex < length) {
+			int childIndex = node.findChild(fold(name.charAt(nameIndex)));
+			if (childIndex < 0) {
+				return null;
+			}
+			Node<V> child = node.children[childIndex];
+			char[] label = child.label;
+			if ((length - nameIndex) < label.length) {
+				return null;
+			}
+			for (int labelIndex = 1; labelIndex < label.length; labelIndex++) {
+				if (fold(name.charAt(nameIndex + labelIndex)) != label[labelIndex]) {
+					return null;
+				}
+			}
+			nameIndex += label.length;
+			node = child;
+		}
+		return node.value;
+	}
+
+	/**
+	 * Returns names that start with provided prefix (in folded char order)
+	 * @param prefix name prefix
+	 * @return names
+	 */
+	public List<String> getNamesStartingWith(String prefix) {
+		List<String> names = new ArrayList<>();
+		forEachNameStartingWith(prefix, names::add);
+		return names;
+	}
+
+	/**
+	 * Passes names that start with provided prefix (in folded char order) to action until it returns false
+	 * @param prefix name prefix
+	 * @param action name action, returns false to stop iteration
+	 * @return false if iteration was stopped by action
+	 */
+	public boolean forEachNameStartingWith(String prefix, Predicate<String> action) {
+		Node<V> node = root;
+		int length = prefix.length();
+		int prefixIndex = 0;
+		while (prefixIndex < length) {
+			int childIndex = node.findChild(fold(prefix.charAt(prefixIndex)));
+			if (childIndex < 0) {
+				return true;
+			}
+			Node<V> child = node.children[childIndex];
+			char[] label = child.label;
+			int compareLength = Math.min(label.length, length - prefixIndex);
+			for (int labelIndex = 1; labelIndex < compareLength; labelIndex++) {
+				if (fold(prefix.charAt(prefixIndex + labelIndex)) != label[labelIndex]) {
+					return true;
+				}
+			}
+			prefixIndex += label.length;
+			node = child;
+		}
+		return forEachName(node, action);
+	}
+
+	protected boolean forEachName(Node<V> node, Predicate<String> action) {
+		if ((node.name != null) && !action.test(node.name)) {
+			return false;
+		}
+		for (Node<V> child : node.children) {
+			if (!forEachName(child, action)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	protected char fold(char c) {
+		return ignoreCase ? Character.toLowerCase(Character.toUpperCase(c)) : c;
+	}
+
+	protected static final class Node<V> {
+
+		@SuppressWarnings("rawtypes")
+		protected static final Node[] EMPTY_CHILDREN = new Node[0];
+
+		protected char[] label;
+		@SuppressWarnings("unchecked")
+		protected Node<V>[] children = EMPTY_CHILDREN;
+		protected String name;
+		protected V value;
+
+		protected Node(char[] label) {
+			this.label = label;
+		}
+
+		/*
+		 * Children are sorted by first label char, so binary search it
+		 * Returns (-(insertion point) - 1) if not found
+		 */
+		protected int findChild(char c) {
+			int low = 0;
+			int high = children.length - 1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				char midChar = children[mid].label[0];
+				if (midChar < c) {
+					low = mid + 1;
+				} else if (midChar > c) {
+					high = mid - 1;
+				} else {
+					return mid;
+				}
+			}
+			return -(low + 1);
+		}
+
+		protected void insertChild(int index, Node<V> child) {
+			Node<V>[] newChildren = Arrays.copyOf(children, children.length + 1);
+			System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+			newChildren[index] = child;
+			children = newChildren;
+		}
+
+	}
+
+}
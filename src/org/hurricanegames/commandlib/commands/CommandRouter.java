@@ -1,10 +1,9 @@
 package org.hurricanegames.commandlib.commands;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import org.bukkit.command.CommandSender;
@@ -14,13 +13,71 @@ public class CommandRouter<H extends CommandHelper<?, ?, ?>> implements Command<
 
 	protected final H helper;
 	public CommandRouter(H helper) {
+		this(helper, false);
+	}
+
+	/**
+	 * Creates router
+	 * @param helper helper
+	 * @param ignoreCase if true, subcommand names and aliases are matched ignoring case
+	 */
+	public CommandRouter(H helper, boolean ignoreCase) {
 		this.helper = helper;
+		this.commandsIndex = new CommandNameIndex<>(ignoreCase);
 	}
 
+	/*
+	 * Subcommands by name in registration order (used for help)
+	 */
 	private final Map<String, Command<H>> commands = new LinkedHashMap<>();
+	/*
+	 * Subcommands by name and alias (used for lookup and tab-complete)
+	 */
+	private final CommandNameIndex<Command<H>> commandsIndex;
+
+	private final CommandHelpCache helpCache = new CommandHelpCache();
+	private long commandsRevision;
 
+	/**
+	 * Adds subcommand
+	 * @param name name
+	 * @param command command
+	 * @throws IllegalArgumentException if name is already used by other subcommand name or alias (ignoring case if router ignores case)
+	 */
 	protected void addCommand(String name, Command<H> command) {
+		addCommand(name, command, new String[0]);
+	}
+
+	/**
+	 * Adds subcommand with aliases<br>
+	 * Aliases resolve directly to the subcommand, but are not listed in help
+	 * @param name name
+	 * @param command command
+	 * @param aliases aliases
+	 * @throws IllegalArgumentException if name or any alias is already used by other subcommand name or alias, or repeats in name and aliases (ignoring case if router ignores case)
+	 */
+	protected void addCommand(String name, Command<H> command, String... aliases) {
+		CommandNameIndex<Boolean> addedNames = new CommandNameIndex<>(commandsIndex.isIgnoreCase());
+		checkNameNotRegistered(name, addedNames);
+		for (String alias : aliases) {
+			checkNameNotRegistered(alias, addedNames);
+		}
+
 		this.commands.put(name, command);
+		this.commandsIndex.put(name, command);
+		for (String alias : aliases) {
+			this.commandsIndex.put(alias, command);
+		}
+		this.commandsRevision++;
+	}
+
+	/*
+	 * Help map is keyed by exact name, so folded duplicates have to be rejected for help and lookup to agree
+	 */
+	private void checkNameNotRegistered(String name, CommandNameIndex<Boolean> addedNames) {
+		if ((commandsIndex.get(name) != null) || (addedNames.put(name, Boolean.TRUE) != null)) {
+			throw new IllegalArgumentException("Subcommand name or alias " + name + " is already registered");
+		}
 	}
 
 	@Override
@@ -32,23 +89,102 @@ public class CommandRouter<H extends CommandHelper<?, ?, ?>> implements Command<
 	public void handleCommand(CommandContext context) {
 		if (context.hasArg(0)) {
 			String commandName = context.getArg(0);
-			Command<H> command = commands.get(commandName);
+			Command<H> command = commandsIndex.get(commandName);
 			if (command == null) {
+				int helpPage = getHelpPageNumber(commandName);
+				if (helpPage > 0) {
+					sendHelpPage(context, helpPage);
+					return;
+				}
 				throw new CommandResponseException(helper.getMessages().getSubCommandNotFoundMessage(commandName));
 			}
 			command.handleCommand(context.getSubContext(1));
 		} else {
-			CommandSender sender = context.getSender();
-			String commandName = context.getCommand();
-			if (sender instanceof Player) {
-				commandName = "/" + commandName;
+			sendHelpPage(context, 1);
+		}
+	}
+
+	/**
+	 * Returns help page size, if more than 0, bare router command shows the first page of help, and other pages can be shown using page number as subcommand
+	 * @return help page size or 0 if help shouldn't be paginated
+	 */
+	protected int getHelpPageSize() {
+		return 0;
+	}
+
+	protected int getHelpPageNumber(String arg) {
+		if (getHelpPageSize() <= 0) {
+			return -1;
+		}
+		int length = arg.length();
+		if ((length == 0) || (length > 9)) {
+			return -1;
+		}
+		int page = 0;
+		for (int i = 0; i < length; i++) {
+			char c = arg.charAt(i);
+			if ((c < '0') || (c > '9')) {
+				return -1;
+			}
+			page = (page * 10) + (c - '0');
+		}
+		return page;
+	}
+
+	protected void sendHelpPage(CommandContext context, int page) {
+		CommandSender sender = context.getSender();
+		String commandLabel = context.getCommand();
+		if (sender instanceof Player) {
+			commandLabel = "/" + commandLabel;
+		}
+		int pageSize = getHelpPageSize();
+		if (pageSize <= 0) {
+			getHelpMessages(commandLabel).forEach(sender::sendMessage);
+		} else {
+			CommandMessages messages = helper.getMessages();
+			long helpRevision = getHelpRevision();
+			int pagesCount = helpCache.getPagesCount(commandLabel, messages, helpRevision, this::renderHelpMessages, pageSize);
+			List<String> pageLines = helpCache.getPage(commandLabel, messages, helpRevision, this::renderHelpMessages, page, pageSize);
+			if (pageLines.isEmpty() && (page > 1)) {
+				throw new CommandResponseException(messages.getSubCommandNotFoundMessage(Integer.toString(page)));
 			}
-			getHelpMessages(commandName).forEach(sender::sendMessage);
+			sender.sendMessage(messages.getHelpPageHeaderMessage(page, pagesCount));
+			pageLines.forEach(sender::sendMessage);
 		}
 	}
 
+	/*
+	 * Help is cached per label until messages revision changes or subcommand is added (to this router or to any nested router)
+	 */
 	@Override
 	public List<String> getHelpMessages(String commandLabel) {
+		return helpCache.get(commandLabel, helper.getMessages(), getHelpRevision(), this::renderHelpMessages);
+	}
+
+	/*
+	 * Subcommands help revisions only grow, so their sum changes every time any nested help changes
+	 */
+	@Override
+	public long getHelpRevision() {
+		long revision = commandsRevision;
+		for (Command<H> command : commands.values()) {
+			revision += command.getHelpRevision();
+		}
+		return revision;
+	}
+
+	/*
+	 * Subcommands help is invalidated too, so help of the whole command tree is rendered again
+	 */
+	@Override
+	public void invalidateHelpCache() {
+		commandsRevision++;
+		for (Command<H> command : commands.values()) {
+			command.invalidateHelpCache();
+		}
+	}
+
+	protected List<String> renderHelpMessages(String commandLabel) {
 		String color = helper.getMessages().getSubCommandLabelColor();
 		return
 			commands.entrySet().stream()
@@ -60,18 +196,40 @@ public class CommandRouter<H extends CommandHelper<?, ?, ?>> implements Command<
 
 	@Override
 	public List<String> getAutoComplete(CommandContext context) {
-		if (!context.hasArg(0)) {
-			return new ArrayList<>(commands.keySet());
-		}
-		String commandName = context.getArg(0);
+		CommandCompletionSink completions = new CommandCompletionSink();
+		getAutoComplete(context, completions);
+		return completions.getCompletions();
+	}
+
+	@Override
+	public void getAutoComplete(CommandContext context, CommandCompletionSink completions) {
 		if (!context.hasArg(1)) {
-			return commands.keySet().stream().filter(c -> c.startsWith(commandName)).collect(Collectors.toList());
+			commandsIndex.forEachNameStartingWith(context.hasArg(0) ? context.getArg(0) : "", completions::add);
+			return;
+		}
+		Command<H> command = commandsIndex.get(context.getArg(0));
+		if (command != null) {
+			command.getAutoComplete(context.getSubContext(1), completions);
 		}
-		Command<H> command = commands.get(commandName);
-		if (command == null) {
-			return Collections.emptyList();
+	}
+
+	@Override
+	public CompletableFuture<List<String>> getAutoCompleteAsync(CommandContext context) {
+		CommandCompletionSink completions = new CommandCompletionSink();
+		return getAutoCompleteAsync(context, completions).thenApply(v -> completions.getCompletions());
+	}
+
+	@Override
+	public CompletableFuture<Void> getAutoCompleteAsync(CommandContext context, CommandCompletionSink completions) {
+		if (context.hasArg(1)) {
+			Command<H> command = commandsIndex.get(context.getArg(0));
+			if (command == null) {
+				return CompletableFuture.completedFuture(null);
+			}
+			return command.getAutoCompleteAsync(context.getSubContext(1), completions);
 		}
-		return command.getAutoComplete(context.getSubContext(1));
+		getAutoComplete(context, completions);
+		return CompletableFuture.completedFuture(null);
 	}
 
 }
@@ -0,0 +1,162 @@
+package org.hurricanegames.commandlib.commands;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+
+import com.destroystokyo.paper.event.server.AsyncTabCompleteEvent;
+
+/**
+ * Handles tab-complete of registered commands using paper {@link AsyncTabCompleteEvent}, so tab-complete is done off the main thread<br>
+ * Paper uses event completions once handlers return, so the event can't be completed later<br>
+ * By default only already available completions are used (arguments that complete inline, like cached player info providers, are always available), otherwise event is left unhandled and bukkit handles tab-complete on the main thread<br>
+ * Listener can be configured to wait for asynchronous argument completions (see {@link BukkitCommandExecutor#onTabCompleteAsync(org.bukkit.command.CommandSender, String, String[])}) up to a timeout,
+ * but the thread that fires the event is a netty event loop thread, so while it is blocked other connections served by that thread are stalled too<br>
+ * The main thread is never blocked: if the event fires on the main thread, only already available completions are used<br>
+ * Both {@link BukkitCommandExecutor} permission and plugin.yml command permission ({@link PluginCommand#testPermissionSilent(CommandSender)}) are checked
+ */
+public class PaperAsyncTabCompleteListener implements Listener {
+
+	protected final Plugin plugin;
+	protected final long timeout;
+	public PaperAsyncTabCompleteListener(Plugin plugin) {
+		this(plugin, 0);
+	}
+
+	/**
+	 * Creates listener<br>
+	 * Positive timeout blocks the netty event loop thread that fires the event (stalling other connections served by it), so it should be kept to a few milliseconds
+	 * @param plugin plugin
+	 * @param timeout max time to wait for tab-complete in milliseconds (0 to use only already available completions)
+	 */
+	public PaperAsyncTabCompleteListener(Plugin plugin, long timeout) {
+		this.plugin = plugin;
+		this.timeout = timeout;
+	}
+
+	protected final Map<String, RegisteredCommand> executors = new ConcurrentHashMap<>();
+
+	protected boolean init = false;
+	public PaperAsyncTabCompleteListener init() {
+		if (init) {
+			throw new IllegalArgumentException("Already initialized");
+		}
+		init = true;
+		Bukkit.getPluginManager().registerEvents(this, plugin);
+		return this;
+	}
+
+	/**
+	 * Adds command executor that should handle tab-complete for provided labels (plugin namespaced labels are added automatically)<br>
+	 * Plugin command (which permission is checked) is looked up by labels, use {@link #addCommand(PluginCommand, BukkitCommandExecutor, String...)} if it is not registered by this plugin
+	 * @param executor command executor
+	 * @param labels command labels (name and aliases)
+	 */
+	public void addCommand(BukkitCommandExecutor executor, String... labels) {
+		addCommand(findPluginCommand(labels), executor, labels);
+	}
+
+	/**
+	 * Adds command executor that should handle tab-complete for provided labels (plugin namespaced labels are added automatically)
+	 * @param command plugin command which permission is checked before tab-complete (or null)
+	 * @param executor command executor
+	 * @param labels command labels (name and aliases)
+	 */
+	public void addCommand(PluginCommand command, BukkitCommandExecutor executor, String... labels) {
+		RegisteredCommand registered = new RegisteredCommand(command, executor);
+		String namespace = plugin.getName().toLowerCase(Locale.ROOT) + ":";
+		for (String label : labels) {
+			label = label.toLowerCase(Locale.ROOT);
+			executors.put(label, registered);
+			executors.put(namespace + label, registered);
+		}
+	}
+
+	protected PluginCommand findPluginCommand(String... labels) {
+		for (String label : labels) {
+			PluginCommand command = Bukkit.getPluginCommand(label);
+			if ((command != null) && (command.getPlugin() == plugin)) {
+				return command;
+			}
+		}
+		return null;
+	}
+
+	@EventHandler(priority = EventPriority.NORMAL)
+	public void onAsyncTabComplete(AsyncTabCompleteEvent event) {
+		if (event.isCancelled() || event.isHandled() || !event.isCommand()) {
+			return;
+		}
+		String buffer = event.getBuffer();
+		int labelStart = buffer.startsWith("/") ? 1 : 0;
+		int labelEnd = buffer.indexOf(' ', labelStart);
+		if (labelEnd == -1) {
+			return;
+		}
+		String label = buffer.substring(labelStart, labelEnd);
+		RegisteredCommand registered = executors.get(label.toLowerCase(Locale.ROOT));
+		if (registered == null) {
+			return;
+		}
+		CommandSender sender = event.getSender();
+		if ((registered.command != null) && !registered.command.testPermissionSilent(sender)) {
+			event.setCompletions(Collections.emptyList());
+			event.setHandled(true);
+			return;
+		}
+
+		CompletableFuture<List<String>> future = registered.executor.onTabCompleteAsync(sender, label, buffer.substring(labelEnd + 1).split(" ", -1));
+		List<String> completions;
+		if (event.isAsynchronous() && (timeout > 0)) {
+			try {
+				completions = future.get(timeout, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				completions = Collections.emptyList();
+			} catch (ExecutionException | CancellationException | TimeoutException e) {
+				completions = Collections.emptyList();
+			}
+		} else {
+			//don't block event thread, let bukkit handle tab-complete if completions are not available yet
+			try {
+				completions = future.getNow(null);
+			} catch (CompletionException | CancellationException e) {
+				completions = Collections.emptyList();
+			}
+			if (completions == null) {
+				return;
+			}
+		}
+		event.setCompletions(completions);
+		event.setHandled(true);
+	}
+
+	protected static class RegisteredCommand {
+
+		protected final PluginCommand command;
+		protected final BukkitCommandExecutor executor;
+
+		public RegisteredCommand(PluginCommand command, BukkitCommandExecutor executor) {
+			this.command = command;
+			this.executor = executor;
+		}
+
+	}
+
+}
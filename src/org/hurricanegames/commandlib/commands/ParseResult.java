@@ -0,0 +1,91 @@
+package org.hurricanegames.commandlib.commands;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Result of parsing user input, either value or failure message<br>
+ * Failure message is created lazily, and {@link CommandResponseException} is created only if result is used with {@link #orThrow()}
+ * @param <V> value type
+ */
+public final class ParseResult<V> {
+
+	private final boolean success;
+	private final V value;
+	private final Supplier<String> failureMessage;
+
+	private ParseResult(boolean success, V value, Supplier<String> failureMessage) {
+		this.success = success;
+		this.value = value;
+		this.failureMessage = failureMessage;
+	}
+
+	public static <V> ParseResult<V> success(V value) {
+		return new ParseResult<>(true, value, null);
+	}
+
+	/**
+	 * Creates failed result
+	 * @param <V> value type
+	 * @param failureMessage failure message supplier, called only if message is needed
+	 * @return failed result
+	 */
+	public static <V> ParseResult<V> failure(Supplier<String> failureMessage) {
+		return new ParseResult<>(false, null, failureMessage);
+	}
+
+	public boolean isSuccess() {
+		return success;
+	}
+
+	/**
+	 * Returns value
+	 * @return value
+	 * @throws IllegalStateException if result is failed
+	 */
+	public V getValue() {
+		if (!success) {
+			throw new IllegalStateException("Parse failed");
+		}
+		return value;
+	}
+
+	/**
+	 * Returns failure message
+	 * @return failure message
+	 * @throws IllegalStateException if result is successful
+	 */
+	public String getFailureMessage() {
+		if (success) {
+			throw new IllegalStateException("Parse succeeded");
+		}
+		return failureMessage.get();
+	}
+
+	public V orElse(V other) {
+		return success ? value : other;
+	}
+
+	/**
+	 * Returns value or throws {@link CommandResponseException} with failure message
+	 * @return value
+	 */
+	public V orThrow() {
+		if (!success) {
+			throw new CommandResponseException(failureMessage.get());
+		}
+		return value;
+	}
+
+	/**
+	 * Maps value of successful result
+	 * @param <R> new value type
+	 * @param mapper value mapper
+	 * @return mapped result or this (failed) result
+	 */
+	@SuppressWarnings("unchecked")
+	public <R> ParseResult<R> map(Function<? super V, ? extends R> mapper) {
+		return success ? success(mapper.apply(value)) : (ParseResult<R>) this;
+	}
+
+}
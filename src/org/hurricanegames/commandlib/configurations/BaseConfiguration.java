@@ -16,6 +16,7 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.hurricanegames.commandlib.configurations.BaseConfiguration.ConfigurationFieldDefinition.DefaultConfigurationField;
 import org.hurricanegames.commandlib.configurations.ConfigurationUtils.BaseConfigurationField;
 import org.hurricanegames.commandlib.configurations.ConfigurationUtils.ConfigurationField;
+import org.hurricanegames.commandlib.configurations.ConfigurationUtils.PrimitiveConfigurationField;
 import org.hurricanegames.commandlib.configurations.ConfigurationUtils.SimpleConfigurationField;
 import org.hurricanegames.commandlib.utils.ReflectionUtils;
 
@@ -24,19 +25,35 @@ public class BaseConfiguration {
 	@SuppressWarnings("rawtypes")
 	protected final ConfigurationField[] fields;
 
+	/*
+	 * Fields discovery (reflective walk over class hierarchy, custom field constructors lookup) is done once per class
+	 * Configuration instances (and there can be a lot of nested ones) only bind cached plans to themselves
+	 */
+	private static final ClassValue<ConfigurationFieldPlan[]> fieldPlans = new ClassValue<ConfigurationFieldPlan[]>() {
+		@Override
+		protected ConfigurationFieldPlan[] computeValue(Class<?> type) {
+			return createFieldPlans(type);
+		}
+	};
+
 	@SuppressWarnings("rawtypes")
 	public BaseConfiguration() {
-		List<ConfigurationField> fieldsList = new ArrayList<>();
-		Class<?> clazz = getClass();
+		ConfigurationFieldPlan[] plans = fieldPlans.get(getClass());
+		ConfigurationField[] fields = new ConfigurationField[plans.length];
+		for (int i = 0; i < plans.length; i++) {
+			fields[i] = plans[i].bind(this);
+		}
+		this.fields = fields;
+	}
+
+	protected static ConfigurationFieldPlan[] createFieldPlans(Class<?> configurationClass) {
+		List<ConfigurationFieldPlan> plans = new ArrayList<>();
+		Class<?> clazz = configurationClass;
 		do {
 			Arrays.stream(clazz.getDeclaredFields())
 			.filter(field -> {
 				return !Modifier.isStatic(field.getModifiers());
 			})
-			.map(f -> {
-				f.setAccessible(true);
-				return f;
-			})
 			.forEach(field -> {
 				ConfigurationFieldDefinition definition = field.getAnnotation(ConfigurationFieldDefinition.class);
 
@@ -44,39 +61,81 @@ public class BaseConfiguration {
 					return;
 				}
 
+				field.setAccessible(true);
+
 				String fieldName =
 					!definition.fieldName().isEmpty() ?
 					definition.fieldName() :
 					field.getName().toLowerCase().replace("_", ".");
 
 				if (definition.fieldType() != DefaultConfigurationField.class) {
-					try {
-						boolean found = false;
-						for (Constructor<?> construstor : definition.fieldType().getConstructors()) {
-							Parameter[] parameters = construstor.getParameters();
-							if ((parameters.length == 3) && parameters[1].getType().isAssignableFrom(Field.class) && parameters[2].getType().isAssignableFrom(String.class)) {
-								fieldsList.add(ReflectionUtils.newInstance(ReflectionUtils.setAccessible(construstor), this, field, fieldName));
-								found = true;
-								break;
-							}
+					Constructor<?> fieldConstructor = null;
+					for (Constructor<?> construstor : definition.fieldType().getConstructors()) {
+						Parameter[] parameters = construstor.getParameters();
+						if ((parameters.length == 3) && parameters[1].getType().isAssignableFrom(Field.class) && parameters[2].getType().isAssignableFrom(String.class)) {
+							fieldConstructor = ReflectionUtils.setAccessible(construstor);
+							break;
 						}
-						if (!found) {
-							throw new IllegalArgumentException("Can't find suitable constructor");
-						}
-					} catch (Exception e) {
-						throw new RuntimeException("Unable to instantiate custom configuration field", e);
 					}
-				} else {
-					Class<?> fieldType = field.getType();
-					if (BaseConfiguration.class.isAssignableFrom(fieldType)) {
-						fieldsList.add(new BaseConfigurationField<>(this, field, fieldName));
-					} else {
-						fieldsList.add(new SimpleConfigurationField<>(this, field, fieldName));
+					if (fieldConstructor == null) {
+						throw new RuntimeException("Unable to instantiate custom configuration field", new IllegalArgumentException("Can't find suitable constructor"));
 					}
+					plans.add(new ConfigurationFieldPlan(field, fieldName, fieldConstructor, ConfigurationFieldKind.CUSTOM));
+				} else if (BaseConfiguration.class.isAssignableFrom(field.getType())) {
+					plans.add(new ConfigurationFieldPlan(field, fieldName, null, ConfigurationFieldKind.NESTED));
+				} else if (PrimitiveConfigurationField.isSupported(field.getType())) {
+					plans.add(new ConfigurationFieldPlan(field, fieldName, null, ConfigurationFieldKind.PRIMITIVE));
+				} else {
+					plans.add(new ConfigurationFieldPlan(field, fieldName, null, ConfigurationFieldKind.SIMPLE));
 				}
 			});
 		} while ((clazz = clazz.getSuperclass()) != null);
-		this.fields = fieldsList.toArray(new ConfigurationField[0]);
+		return plans.toArray(new ConfigurationFieldPlan[0]);
+	}
+
+	/**
+	 * Cached description of configuration field, creates configuration field for configuration instance
+	 */
+	protected static final class ConfigurationFieldPlan {
+
+		protected final Field field;
+		protected final String path;
+		protected final Constructor<?> constructor;
+		protected final ConfigurationFieldKind kind;
+
+		protected ConfigurationFieldPlan(Field field, String path, Constructor<?> constructor, ConfigurationFieldKind kind) {
+			this.field = field;
+			this.path = path;
+			this.constructor = constructor;
+			this.kind = kind;
+		}
+
+		@SuppressWarnings("rawtypes")
+		protected ConfigurationField bind(BaseConfiguration configuration) {
+			switch (kind) {
+				case CUSTOM: {
+					try {
+						return ReflectionUtils.newInstance(constructor, configuration, field, path);
+					} catch (Exception e) {
+						throw new RuntimeException("Unable to instantiate custom configuration field", e);
+					}
+				}
+				case NESTED: {
+					return new BaseConfigurationField<>(configuration, field, path);
+				}
+				case PRIMITIVE: {
+					return new PrimitiveConfigurationField<>(configuration, field, path);
+				}
+				default: {
+					return new SimpleConfigurationField<>(configuration, field, path);
+				}
+			}
+		}
+
+	}
+
+	protected static enum ConfigurationFieldKind {
+		CUSTOM, NESTED, PRIMITIVE, SIMPLE;
 	}
 
 	@SuppressWarnings("unchecked")
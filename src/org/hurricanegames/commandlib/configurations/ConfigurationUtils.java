@@ -8,8 +8,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.text.MessageFormat;
 import java.util.AbstractMap;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -24,6 +26,8 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.MemoryConfiguration;
@@ -31,9 +35,15 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.hurricanegames.commandlib.configurations.ConfigurationUtils.MapTypeSerializer.MapKVTypeSerializer;
 import org.hurricanegames.commandlib.utils.MiscBukkitUtils;
 import org.hurricanegames.commandlib.utils.ReflectionUtils;
+import org.hurricanegames.commandlib.utils.ReflectionUtils.FieldAccessor;
 
 public class ConfigurationUtils {
 
+	/*
+	 * Configurations are loaded without plugin reference (and can be loaded without running server), so own logger is used
+	 */
+	private static final Logger logger = Logger.getLogger(ConfigurationUtils.class.getName());
+
 	/**
 	 * Returns configuration value or throws an exception if not set
 	 * @param <T> configuration value type
@@ -66,6 +76,40 @@ public class ConfigurationUtils {
 		}
 	}
 
+	/**
+	 * Replaces collections and maps in section (and its subsections) with copies<br>
+	 * Used to detach saved section from configuration object values, so section can be written on another thread
+	 * @param section configuration section
+	 */
+	public static void copyMutableValues(ConfigurationSection section) {
+		for (String key : section.getKeys(false)) {
+			Object value = section.get(key);
+			if (value instanceof ConfigurationSection) {
+				copyMutableValues((ConfigurationSection) value);
+			} else if ((value instanceof Collection) || (value instanceof Map)) {
+				section.set(key, copyMutableValue(value));
+			}
+		}
+	}
+
+	protected static Object copyMutableValue(Object value) {
+		if (value instanceof Collection) {
+			List<Object> copy = new ArrayList<>(((Collection<?>) value).size());
+			for (Object element : (Collection<?>) value) {
+				copy.add(copyMutableValue(element));
+			}
+			return copy;
+		} else if (value instanceof Map) {
+			Map<Object, Object> copy = new LinkedHashMap<>();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				copy.put(entry.getKey(), copyMutableValue(entry.getValue()));
+			}
+			return copy;
+		} else {
+			return value;
+		}
+	}
+
 	/**
 	 * Loads configuration
 	 * @param <T> configuration object instance type
@@ -112,8 +156,12 @@ public class ConfigurationUtils {
 
 		protected final Class<?> clazz;
 
+		/**
+		 * Creates serializer
+		 * @param clazz value class, primitive classes are replaced with boxed ones (so primitive fields can be deserialized)
+		 */
 		public IdentityTypeSerializer(Class<?> clazz) {
-			this.clazz = clazz;
+			this.clazz = ReflectionUtils.getBoxedType(clazz);
 		}
 
 		@SuppressWarnings("unchecked")
@@ -357,10 +405,12 @@ public class ConfigurationUtils {
 
 		protected final O configuration;
 		protected final Field configurationField;
+		protected final FieldAccessor configurationFieldAccessor;
 		protected final String path;
 
 		public ConfigurationField(O configuration, Field field, String path) {
 			this.configurationField = field;
+			this.configurationFieldAccessor = ReflectionUtils.getFieldAccessor(field);
 			this.configuration = configuration;
 			this.path = path;
 		}
@@ -390,7 +440,7 @@ public class ConfigurationUtils {
 			if (object != null) {
 				T t = elementSerializer.deserialize(object);
 				if (t != null) {
-					ReflectionUtils.setField(configurationField, configuration, t);
+					configurationFieldAccessor.set(configuration, t);
 				}
 			}
 		}
@@ -398,7 +448,7 @@ public class ConfigurationUtils {
 		@SuppressWarnings("unchecked")
 		@Override
 		protected void save(ConfigurationSection section) {
-			Object object = ReflectionUtils.getField(configurationField, configuration);
+			Object object = configurationFieldAccessor.get(configuration);
 			if (object != null) {
 				section.set(path, elementSerializer.serialize((T) object));
 			}
@@ -406,6 +456,83 @@ public class ConfigurationUtils {
 
 	}
 
+	/**
+	 * Configuration field for int, long, double and boolean fields<br>
+	 * Field is accessed without boxing, numeric fields accept any number value
+	 */
+	public static class PrimitiveConfigurationField<O> extends ConfigurationField<O> {
+
+		/**
+		 * Returns if field type is supported by primitive configuration field
+		 * @param type field type
+		 * @return true if field type is supported
+		 */
+		public static boolean isSupported(Class<?> type) {
+			return (type == int.class) || (type == long.class) || (type == double.class) || (type == boolean.class);
+		}
+
+		protected final Class<?> type;
+
+		public PrimitiveConfigurationField(O configuration, Field field, String path) {
+			super(configuration, field, path);
+			this.type = field.getType();
+			if (!isSupported(type)) {
+				throw new IllegalArgumentException("Unsupported field type " + type);
+			}
+		}
+
+		@Override
+		protected void load(ConfigurationSection section) {
+			Object object = section.get(path);
+			if (type == boolean.class) {
+				if (object instanceof Boolean) {
+					configurationFieldAccessor.setBoolean(configuration, (Boolean) object);
+				}
+			} else if (object instanceof Number) {
+				Number number = (Number) object;
+				if (type == double.class) {
+					configurationFieldAccessor.setDouble(configuration, number.doubleValue());
+				} else if (!isIntegral(number) || ((type == int.class) && ((number.longValue() < Integer.MIN_VALUE) || (number.longValue() > Integer.MAX_VALUE)))) {
+					logger.log(Level.WARNING, MessageFormat.format(
+						"Value {0} of configuration path {1} is not a valid {2} value, field {3} keeps current value",
+						String.valueOf(number), path, type, configurationField
+					));
+				} else if (type == int.class) {
+					configurationFieldAccessor.setInt(configuration, number.intValue());
+				} else {
+					configurationFieldAccessor.setLong(configuration, number.longValue());
+				}
+			}
+		}
+
+		/*
+		 * Returns true if number is integral and fits in long
+		 */
+		protected static boolean isIntegral(Number number) {
+			if ((number instanceof Integer) || (number instanceof Long) || (number instanceof Short) || (number instanceof Byte)) {
+				return true;
+			}
+			if (number instanceof BigInteger) {
+				return ((BigInteger) number).bitLength() < Long.SIZE;
+			}
+			return false;
+		}
+
+		@Override
+		protected void save(ConfigurationSection section) {
+			if (type == int.class) {
+				section.set(path, configurationFieldAccessor.getInt(configuration));
+			} else if (type == long.class) {
+				section.set(path, configurationFieldAccessor.getLong(configuration));
+			} else if (type == double.class) {
+				section.set(path, configurationFieldAccessor.getDouble(configuration));
+			} else {
+				section.set(path, configurationFieldAccessor.getBoolean(configuration));
+			}
+		}
+
+	}
+
 	public static class IntegerConfigurationField<O> extends SimpleConfigurationField<O, Integer> {
 
 		public IntegerConfigurationField(O configuration, Field field, String path) {
@@ -434,13 +561,8 @@ public class ConfigurationUtils {
 
 		@SuppressWarnings("unchecked")
 		protected static <T extends BaseConfiguration> BaseConfigurationTypeSerializer<T> createSerializer(Object object, Field field) {
-			return new BaseConfigurationTypeSerializer<>(() -> {
-				try {
-					return (T) field.get(object);
-				} catch (IllegalArgumentException | IllegalAccessException e) {
-					throw new RuntimeException(e);
-				}
-			});
+			FieldAccessor accessor = ReflectionUtils.getFieldAccessor(field);
+			return new BaseConfigurationTypeSerializer<>(() -> (T) accessor.get(object));
 		}
 
 		public BaseConfigurationField(O configuration, Field field, String path) {
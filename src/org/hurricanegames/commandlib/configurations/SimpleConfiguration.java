@@ -1,19 +1,191 @@
 package org.hurricanegames.commandlib.configurations;
 
 import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.bukkit.configuration.file.YamlConfiguration;
 
 public abstract class SimpleConfiguration extends BaseConfiguration {
 
+	/*
+	 * Created on first asynchronous save, writer thread stops when idle, so executor doesn't keep a thread after plugin is disabled
+	 */
+	private static ThreadPoolExecutor defaultSaveExecutor;
+
+	private static synchronized Executor getDefaultSaveExecutor() {
+		if (defaultSaveExecutor == null) {
+			defaultSaveExecutor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread = new Thread(runnable, "HurricaneGamesCommandLib configuration writer");
+				thread.setDaemon(true);
+				return thread;
+			});
+			defaultSaveExecutor.allowCoreThreadTimeOut(true);
+		}
+		return defaultSaveExecutor;
+	}
+
+	/**
+	 * Writes all pending asynchronous saves of configurations that use default save executor and stops executor writer thread, waiting for writes to finish<br>
+	 * Should be called on plugin disable (after the last {@link #saveAsync()} call), configurations that override {@link #getSaveExecutor()} should be flushed using {@link #flush()}<br>
+	 * Asynchronous saves requested after this call use a new executor
+	 */
+	public static void flushAll() {
+		ThreadPoolExecutor executor;
+		synchronized (SimpleConfiguration.class) {
+			executor = defaultSaveExecutor;
+			defaultSaveExecutor = null;
+		}
+		if (executor == null) {
+			return;
+		}
+		executor.shutdown();
+		boolean interrupted = false;
+		while (true) {
+			try {
+				if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+					break;
+				}
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	protected volatile long revision = 0;
+
+	/*
+	 * Guards pending save snapshot and future
+	 * Snapshots are also created under this lock, so pending snapshot is always the latest one
+	 */
+	private final Object pendingSaveLock = new Object();
+	/*
+	 * Serializes file writes, so older snapshot never overwrites newer one
+	 */
+	private final Object writeLock = new Object();
+	private YamlConfiguration pendingSaveConfig;
+	private CompletableFuture<Void> pendingSaveFuture;
+
 	protected void load() {
 		load(YamlConfiguration.loadConfiguration(getStorageFile()));
+		revision++;
 	}
 
+	/**
+	 * Returns configuration revision, which changes every time configuration is loaded
+	 * @return revision
+	 */
+	public long getRevision() {
+		return revision;
+	}
+
+	/**
+	 * Saves configuration on the calling thread<br>
+	 * Pending asynchronous save (if any) is superseded by this save
+	 */
 	public void save() {
+		synchronized (writeLock) {
+			YamlConfiguration config;
+			CompletableFuture<Void> future;
+			synchronized (pendingSaveLock) {
+				config = createSaveSnapshot();
+				future = pendingSaveFuture;
+				pendingSaveConfig = null;
+				pendingSaveFuture = null;
+			}
+			try {
+				ConfigurationUtils.safeSave(config, getStorageFile());
+			} catch (RuntimeException e) {
+				if (future != null) {
+					future.completeExceptionally(e);
+				}
+				throw e;
+			}
+			if (future != null) {
+				future.complete(null);
+			}
+		}
+	}
+
+	/**
+	 * Saves configuration in background<br>
+	 * Field values are captured on the calling thread, yaml serialization and file write are done using {@link #getSaveExecutor()}<br>
+	 * Saves that are requested before pending write starts are merged into one write of the latest values<br>
+	 * Call {@link #flushAll()} (or {@link #flush()} if {@link #getSaveExecutor()} is overridden) on plugin disable to make sure that pending saves are written, writer thread is a daemon thread, so saves that are still pending on jvm exit are lost<br>
+	 * If executor rejects the write (for example if it is shut down), configuration is written on the calling thread
+	 * @return future that completes when the file containing values captured by this call is written
+	 */
+	public CompletableFuture<Void> saveAsync() {
+		CompletableFuture<Void> future;
+		synchronized (pendingSaveLock) {
+			pendingSaveConfig = createSaveSnapshot();
+			if (pendingSaveFuture != null) {
+				return pendingSaveFuture;
+			}
+			future = pendingSaveFuture = new CompletableFuture<>();
+		}
+		try {
+			getSaveExecutor().execute(this::writePendingSave);
+		} catch (RejectedExecutionException e) {
+			writePendingSave();
+		}
+		return future;
+	}
+
+	/**
+	 * Writes pending asynchronous save on the calling thread, waiting for the write that is already in progress<br>
+	 * Should be called on plugin disable
+	 */
+	public void flush() {
+		writePendingSave();
+	}
+
+	protected void writePendingSave() {
+		synchronized (writeLock) {
+			YamlConfiguration config;
+			CompletableFuture<Void> future;
+			synchronized (pendingSaveLock) {
+				config = pendingSaveConfig;
+				future = pendingSaveFuture;
+				pendingSaveConfig = null;
+				pendingSaveFuture = null;
+			}
+			if (config == null) {
+				return;
+			}
+			try {
+				ConfigurationUtils.safeSave(config, getStorageFile());
+				future.complete(null);
+			} catch (Throwable t) {
+				future.completeExceptionally(t);
+			}
+		}
+	}
+
+	/*
+	 * Values are copied, so mutable values that are saved as is (lists, maps) can't be modified while snapshot is written
+	 */
+	protected YamlConfiguration createSaveSnapshot() {
 		YamlConfiguration config = new YamlConfiguration();
 		save(config);
-		ConfigurationUtils.safeSave(config, getStorageFile());
+		ConfigurationUtils.copyMutableValues(config);
+		return config;
+	}
+
+	/**
+	 * Returns executor used for asynchronous saves<br>
+	 * Default executor is a single daemon thread shared by all configurations (see {@link #flushAll()})
+	 * @return save executor
+	 */
+	protected Executor getSaveExecutor() {
+		return getDefaultSaveExecutor();
 	}
 
 	public void reload() {
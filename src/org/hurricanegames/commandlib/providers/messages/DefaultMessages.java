@@ -37,11 +37,19 @@ public abstract class DefaultMessages extends SimpleConfiguration implements Com
 	@ConfigurationFieldDefinition(fieldType = SimpleColorizedStringConfigurationField.class)
 	protected String COMMAND_NOTFOUND = ChatColor.RED + "Command {0} doesnt exist";
 
+	@ConfigurationFieldDefinition(fieldType = SimpleColorizedStringConfigurationField.class)
+	protected String COMMAND_HELP_PAGE_HEADER = ChatColor.GOLD + "Help page {0}/{1}";
+
 	@ConfigurationFieldDefinition(fieldType = SimpleColorizedStringConfigurationField.class)
 	protected String COMMAND_ARGINDEX_NEGATIVE = ChatColor.RED + "Argument index cant be negative";
 	@ConfigurationFieldDefinition(fieldType = SimpleColorizedStringConfigurationField.class)
 	protected String COMMAND_ARGINDEX_OOB = ChatColor.RED + "Not enough arguments";
 
+	@ConfigurationFieldDefinition(fieldType = SimpleColorizedStringConfigurationField.class)
+	protected String COMMAND_ARGS_ERROR_POSITION = "{0}\n" + ChatColor.GRAY + "{1}" + ChatColor.RED + ChatColor.UNDERLINE + "{2}" + ChatColor.RESET + ChatColor.RED + "<--[HERE]";
+	@ConfigurationFieldDefinition(fieldType = SimpleColorizedStringConfigurationField.class)
+	protected String COMMAND_ARGS_UNCLOSED_QUOTE = ChatColor.RED + "Unclosed quote";
+
 	@ConfigurationFieldDefinition(fieldType = SimpleColorizedStringConfigurationField.class)
 	protected String COMMAND_VALIDATE_NOPERMISSION = ChatColor.RED + "You dont have permission {0}";
 
@@ -64,6 +72,9 @@ public abstract class DefaultMessages extends SimpleConfiguration implements Com
 	@ConfigurationFieldDefinition(fieldType = SimpleColorizedStringConfigurationField.class)
 	protected String COMMAND_ARGS_DOUBLE_ERROR = ChatColor.RED + "String {0} is not a double";
 
+	@ConfigurationFieldDefinition(fieldType = SimpleColorizedStringConfigurationField.class)
+	protected String COMMAND_ARGS_INVALID_ERROR = ChatColor.RED + "Value {0} is not valid";
+
 	@ConfigurationFieldDefinition
 	protected String COMMAND_ARGS_BOOLEAN_TRUE = "true";
 	@ConfigurationFieldDefinition
@@ -86,6 +97,11 @@ public abstract class DefaultMessages extends SimpleConfiguration implements Com
 		return MessageFormat.format(COMMAND_NOTFOUND, commandName);
 	}
 
+	@Override
+	public String getHelpPageHeaderMessage(int page, int pagesCount) {
+		return MessageFormat.format(COMMAND_HELP_PAGE_HEADER, page, pagesCount);
+	}
+
 	@Override
 	public String getHelpArgsColor() {
 		return COMMAND_COLOR_HELP_ARGS;
@@ -111,6 +127,17 @@ public abstract class DefaultMessages extends SimpleConfiguration implements Com
 		return MessageFormat.format(COMMAND_ARGINDEX_OOB, argIndex);
 	}
 
+	@Override
+	public String getArgErrorPositionMessage(String message, String input, int start, int end) {
+		int contextStart = Math.max(0, start - 10);
+		return MessageFormat.format(COMMAND_ARGS_ERROR_POSITION, message, (contextStart > 0 ? "..." : "") + input.substring(contextStart, start), input.substring(start, end));
+	}
+
+	@Override
+	public String getArgsErrorUnclosedQuoteMessage() {
+		return COMMAND_ARGS_UNCLOSED_QUOTE;
+	}
+
 	@Override
 	public String getValidateHasPermissionErrorNoPermissionMessage(String permission) {
 		return MessageFormat.format(COMMAND_VALIDATE_NOPERMISSION, permission);
@@ -151,6 +178,11 @@ public abstract class DefaultMessages extends SimpleConfiguration implements Com
 		return MessageFormat.format(COMMAND_ARGS_DOUBLE_ERROR, string);
 	}
 
+	@Override
+	public String getArgErrorInvalidValueMessage(String string) {
+		return MessageFormat.format(COMMAND_ARGS_INVALID_ERROR, string);
+	}
+
 	@Override
 	public String getArgBooleanHelp() {
 		return MessageFormat.format(COMMAND_ARGS_BOOLEAN_HELP, COMMAND_ARGS_BOOLEAN_TRUE, COMMAND_ARGS_BOOLEAN_FALSE);
@@ -10,6 +10,11 @@ public abstract class DefaultMessagesProxy extends SimpleConfiguration implement
 		this.parent = parent;
 	}
 
+	@Override
+	public long getRevision() {
+		return super.getRevision() + parent.getRevision();
+	}
+
 	@Override
 	public String getSubCommandLabelColor() {
 		return parent.getSubCommandLabelColor();
@@ -40,6 +45,21 @@ public abstract class DefaultMessagesProxy extends SimpleConfiguration implement
 		return parent.getSubCommandNotFoundMessage(commandName);
 	}
 
+	@Override
+	public String getArgErrorPositionMessage(String message, String input, int start, int end) {
+		return parent.getArgErrorPositionMessage(message, input, start, end);
+	}
+
+	@Override
+	public String getArgsErrorUnclosedQuoteMessage() {
+		return parent.getArgsErrorUnclosedQuoteMessage();
+	}
+
+	@Override
+	public String getHelpPageHeaderMessage(int page, int pagesCount) {
+		return parent.getHelpPageHeaderMessage(page, pagesCount);
+	}
+
 	@Override
 	public String getArgSenderPlayerErrorNotPlayerMessage() {
 		return parent.getArgSenderPlayerErrorNotPlayerMessage();
@@ -75,6 +95,11 @@ public abstract class DefaultMessagesProxy extends SimpleConfiguration implement
 		return parent.getArgDoubleErrorNotDoubleMessage(string);
 	}
 
+	@Override
+	public String getArgErrorInvalidValueMessage(String string) {
+		return parent.getArgErrorInvalidValueMessage(string);
+	}
+
 	@Override
 	public String getArgBooleanHelp() {
 		return parent.getArgBooleanHelp();
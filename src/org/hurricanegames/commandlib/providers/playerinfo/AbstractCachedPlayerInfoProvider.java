@@ -1,11 +1,28 @@
 package org.hurricanegames.commandlib.providers.playerinfo;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.logging.Level;
 
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
@@ -15,48 +32,458 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.plugin.Plugin;
+import org.hurricanegames.commandlib.utils.CaseInsensitiveNameMap;
+import org.hurricanegames.commandlib.utils.NameUtils;
+import org.hurricanegames.commandlib.utils.UnknownOfflinePlayer;
 
 public abstract class AbstractCachedPlayerInfoProvider<T extends PlayerInfo> implements Listener, PlayerInfoProvider<T> {
 
 	protected final Plugin plugin;
 	public AbstractCachedPlayerInfoProvider(Plugin plugin) {
+		this(plugin, true);
+	}
+
+	/**
+	 * Creates provider
+	 * @param plugin plugin
+	 * @param indexes if false, player info indexes are not created, and subclass should override all methods that use them (lookups, iteration and {@link #putPlayerInfo(PlayerInfo, boolean)})
+	 */
+	protected AbstractCachedPlayerInfoProvider(Plugin plugin, boolean indexes) {
 		this.plugin = plugin;
+		this.byUUID = indexes ? new ConcurrentHashMap<>() : null;
+		this.byName = indexes ? new CaseInsensitiveNameMap<>() : null;
+		this.byNameSorted = indexes ? new ConcurrentSkipListMap<>(NameUtils.NAME_ORDER) : null;
 	}
 
-	protected final Map<UUID, T> byUUID = new HashMap<>();
-	protected final Map<String, T> byName = new HashMap<>();
+	/*
+	 * Indexes are read without locking, write lock only serializes modifications
+	 * Modifications put new entries before removing old ones, so a player being renamed or re-added is never missing from lookups
+	 */
+	protected final Map<UUID, T> byUUID;
+	/*
+	 * Name index supports both exact and case-insensitive lookups
+	 */
+	protected final CaseInsensitiveNameMap<T> byName;
+	protected final ConcurrentNavigableMap<String, T> byNameSorted;
 
 	protected final StampedLock lock = new StampedLock();
 
+	protected final BiFunction<UUID, String, T> playerInfoFactory = this::createPlayerInfo;
+
 	protected boolean init = false;
 	public AbstractCachedPlayerInfoProvider<T> init() {
+		markInit();
+		registerListeners();
+		OfflinePlayer[] offlinePlayers = Bukkit.getOfflinePlayers();
+		warmupTotal = offlinePlayers.length;
+		Arrays.stream(offlinePlayers).forEach(this::add);
+		warmupLoaded = offlinePlayers.length;
+		Bukkit.getOnlinePlayers().forEach(this::add);
+		warm = true;
+		return this;
+	}
+
+	/**
+	 * Initializes provider without loading offline players on the main thread<br>
+	 * Online players are added immediately, offline players are loaded in background in chunks (see {@link #getWarmupChunkSize()})<br>
+	 * Lookups that miss while provider is not warm fall back to snapshot lookup (if initialized with snapshot) and then to direct bukkit lookup (server user cache only for names, so name lookups never block on profile lookup)
+	 * @return this provider
+	 */
+	public AbstractCachedPlayerInfoProvider<T> initAsync() {
+		markInit();
+		registerListeners();
+		Bukkit.getOnlinePlayers().forEach(this::add);
+		Bukkit.getScheduler().runTaskAsynchronously(plugin, this::warmup);
+		return this;
+	}
+
+	/**
+	 * Initializes provider using player info snapshot (see {@link #saveSnapshot()}) without loading offline players on the main thread<br>
+	 * Online players are added immediately, snapshot is memory mapped and used for lookups until it is loaded to the provider in background<br>
+	 * Offline players are not enumerated from server, snapshot players are reconciled lazily instead: joining players update their names, and uuid lookups that miss (players that joined while snapshot wasn't saved) fall back to direct bukkit lookup<br>
+	 * If snapshot doesn't exist or is invalid, this works the same way as {@link #initAsync()}
+	 * @param snapshotFile snapshot file
+	 * @return this provider
+	 */
+	public AbstractCachedPlayerInfoProvider<T> initAsync(Path snapshotFile) {
+		markInit();
+		this.snapshotFile = snapshotFile;
+		if (Files.exists(snapshotFile)) {
+			try {
+				snapshot = PlayerInfoSnapshot.open(snapshotFile);
+			} catch (IOException e) {
+				plugin.getLogger().log(Level.WARNING, "Unable to read player info snapshot, offline players will be loaded from server", e);
+			}
+		}
+		registerListeners();
+		Bukkit.getOnlinePlayers().forEach(this::add);
+		Bukkit.getScheduler().runTaskAsynchronously(plugin, this::warmup);
+		return this;
+	}
+
+	/*
+	 * Joins are queued by the listener, so pending joins are also applied every tick
+	 */
+	protected void registerListeners() {
+		Bukkit.getPluginManager().registerEvents(this, plugin);
+		Bukkit.getScheduler().runTaskTimer(plugin, this::flushJoins, 1, 1);
+	}
+
+	protected void markInit() {
 		if (init) {
 			throw new IllegalArgumentException("Already initialized");
 		}
 		init = true;
-		Bukkit.getPluginManager().registerEvents(this, plugin);
-		Arrays.stream(Bukkit.getOfflinePlayers()).forEach(this::add);
-		Bukkit.getOnlinePlayers().forEach(this::add);
-		return this;
 	}
 
-	@Override
-	public T getByUUID(UUID uuid) {
+	protected volatile boolean warm = false;
+	/*
+	 * Set if provider was warmed up from snapshot, so it may miss players that joined after snapshot was saved
+	 */
+	protected volatile boolean warmFromSnapshot = false;
+	protected volatile int warmupTotal = -1;
+	protected volatile int warmupLoaded = 0;
+
+	/**
+	 * Returns offline players count that is added to provider in one write lock hold during background warm-up
+	 * @return warm-up chunk size
+	 */
+	protected int getWarmupChunkSize() {
+		return 1000;
+	}
+
+	protected Path snapshotFile;
+	/*
+	 * Snapshot that is used for lookups until it is loaded to the provider
+	 */
+	protected volatile PlayerInfoSnapshot snapshot;
+
+	/*
+	 * Snapshot players are loaded without enumerating offline players (which reads every player data from server), joins keep names up to date
+	 * Snapshot players don't replace players that joined during warm-up, so their names are never reverted to snapshot ones
+	 */
+	protected void warmup() {
+		try {
+			PlayerInfoSnapshot snapshot = this.snapshot;
+			if ((snapshot != null) && warmupFromSnapshot(snapshot)) {
+				warmFromSnapshot = true;
+			} else {
+				OfflinePlayer[] offlinePlayers = Bukkit.getOfflinePlayers();
+				warmupTotal = offlinePlayers.length;
+				addChunked(offlinePlayers.length, i -> createPlayerInfo(offlinePlayers[i].getUniqueId(), offlinePlayers[i].getName()), 0);
+			}
+			warm = true;
+			this.snapshot = null;
+		} catch (Throwable t) {
+			plugin.getLogger().log(Level.SEVERE, "Unable to load offline players, lookups will keep falling back to direct lookup", t);
+		}
+	}
+
+	/*
+	 * Returns false if snapshot is corrupted, players that were loaded before corrupted record stay (offline players don't replace them)
+	 */
+	protected boolean warmupFromSnapshot(PlayerInfoSnapshot snapshot) {
+		try {
+			warmupTotal = snapshot.size();
+			addChunked(snapshot.size(), i -> snapshot.get(i, playerInfoFactory), 0);
+			return true;
+		} catch (IllegalStateException e) {
+			dropSnapshot(snapshot, e);
+			return false;
+		}
+	}
+
+	/*
+	 * Snapshot lookups that find corrupted record drop snapshot, so lookups fall back to direct bukkit lookup
+	 */
+	protected T lookupSnapshot(Function<PlayerInfoSnapshot, T> lookup) {
+		PlayerInfoSnapshot snapshot = this.snapshot;
+		if (snapshot == null) {
+			return null;
+		}
+		try {
+			return lookup.apply(snapshot);
+		} catch (IllegalStateException e) {
+			dropSnapshot(snapshot, e);
+			return null;
+		}
+	}
+
+	protected void dropSnapshot(PlayerInfoSnapshot snapshot, IllegalStateException e) {
+		if (this.snapshot != snapshot) {
+			return;
+		}
+		this.snapshot = null;
+		plugin.getLogger().log(Level.WARNING, "Player info snapshot is corrupted, offline players will be loaded from server", e);
+	}
+
+	/*
+	 * Player infos are created outside of the lock, players that are already present (joined during warm-up) are not replaced
+	 */
+	protected void addChunked(int count, IntFunction<T> source, int loadedBase) {
+		int chunkSize = Math.max(getWarmupChunkSize(), 1);
+		List<T> chunk = new ArrayList<>(Math.min(chunkSize, count));
+		for (int chunkStart = 0; chunkStart < count; chunkStart += chunkSize) {
+			int chunkEnd = Math.min(chunkStart + chunkSize, count);
+			chunk.clear();
+			for (int i = chunkStart; i < chunkEnd; i++) {
+				T newplayer = source.apply(i);
+				if (newplayer != null) {
+					chunk.add(newplayer);
+				}
+			}
+			long stamp = lock.writeLock();
+			try {
+				for (T newplayer : chunk) {
+					putPlayerInfo(newplayer, false);
+				}
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+			warmupLoaded = loadedBase + chunkEnd;
+		}
+	}
+
+	/**
+	 * Saves player info snapshot to the file that was used in {@link #initAsync(Path)}, should be called on plugin disable
+	 * @throws IOException if write fails
+	 */
+	public void saveSnapshot() throws IOException {
+		if (snapshotFile == null) {
+			throw new IllegalStateException("Provider wasn't initialized with snapshot file");
+		}
+		saveSnapshot(snapshotFile);
+	}
+
+	/**
+	 * Saves player info snapshot
+	 * @param file snapshot file
+	 * @throws IOException if write fails
+	 */
+	public void saveSnapshot(Path file) throws IOException {
+		flushJoins();
+		PlayerInfoSnapshot.Writer writer = new PlayerInfoSnapshot.Writer();
 		long stamp = lock.readLock();
 		try {
-			return byUUID.get(uuid);
+			forEachCached(player -> writer.add(player.getUUID(), player.getName()));
 		} finally {
 			lock.unlockRead(stamp);
 		}
+		writer.write(file);
+	}
+
+	/**
+	 * Passes all cached players to action
+	 * @param action player action
+	 */
+	protected void forEachCached(Consumer<T> action) {
+		byUUID.values().forEach(action);
+	}
+
+	/**
+	 * Returns if all offline players are loaded
+	 * @return true if provider is fully warm
+	 */
+	public boolean isWarm() {
+		return warm;
+	}
+
+	/**
+	 * Returns offline players loading progress
+	 * @return progress from 0 to 1
+	 */
+	public double getWarmupProgress() {
+		if (warm) {
+			return 1;
+		}
+		int total = warmupTotal;
+		if (total <= 0) {
+			return 0;
+		}
+		return (double) warmupLoaded / total;
+	}
+
+	/*
+	 * Pending joins are checked first, so joined player is visible before joins are applied
+	 */
+	@Override
+	public T getByUUID(UUID uuid) {
+		T player = pendingJoinsByUUID.get(uuid);
+		if (player == null) {
+			player = lookupByUUID(uuid);
+		}
+		if ((player == null) && !warm) {
+			player = lookupSnapshot(snapshot -> snapshot.getByUUID(uuid, playerInfoFactory));
+			if (player == null) {
+				player = loadDirect(Bukkit.getOfflinePlayer(uuid));
+			}
+		} else if ((player == null) && warmFromSnapshot) {
+			//uuid lookup doesn't block on profile lookup, unlike name lookup, so only uuid lookups reconcile snapshot
+			player = loadDirect(Bukkit.getOfflinePlayer(uuid));
+		}
+		return player;
 	}
 
+	/*
+	 * Name misses before warm-up is finished fall back only to server user cache (Bukkit.getOfflinePlayerIfCached), so lookup never blocks on profile lookup
+	 */
 	@Override
 	public T getByName(String name) {
-		long stamp = lock.readLock();
+		T player = lookupByName(name);
+		if (player == null) {
+			player = lookupPendingJoinByName(name, false);
+		}
+		if ((player == null) && !warm) {
+			player = lookupSnapshot(snapshot -> snapshot.getByName(name, false, playerInfoFactory));
+			if (player == null) {
+				player = loadDirect(Bukkit.getOfflinePlayerIfCached(name));
+			}
+		}
+		return player;
+	}
+
+	/*
+	 * If multiple players names match ignoring case, exact-case name is preferred, otherwise the most recently added one is used
+	 * Name misses before warm-up is finished fall back only to server user cache, like in getByName
+	 */
+	@Override
+	public T getByNameIgnoreCase(String name) {
+		T player = lookupByNameIgnoreCase(name);
+		if (player == null) {
+			player = lookupPendingJoinByName(name, true);
+		}
+		if ((player == null) && !warm) {
+			player = lookupSnapshot(snapshot -> snapshot.getByName(name, true, playerInfoFactory));
+			if (player == null) {
+				player = loadDirect(Bukkit.getOfflinePlayerIfCached(name));
+			}
+		}
+		return player;
+	}
+
+	/*
+	 * Lookups are done in bulk, only players that are not found are looked up one by one (if provider is not warm yet or was warmed up from snapshot)
+	 */
+	@Override
+	public Map<UUID, T> getByUUIDs(Collection<UUID> uuids) {
+		Map<UUID, T> players = lookupByUUIDs(uuids);
+		if (!pendingJoinsByUUID.isEmpty()) {
+			for (UUID uuid : uuids) {
+				T player = pendingJoinsByUUID.get(uuid);
+				if (player != null) {
+					players.put(uuid, player);
+				}
+			}
+		}
+		if ((!warm || warmFromSnapshot) && (players.size() < uuids.size())) {
+			for (UUID uuid : uuids) {
+				if (!players.containsKey(uuid)) {
+					T player = getByUUID(uuid);
+					if (player != null) {
+						players.put(uuid, player);
+					}
+				}
+			}
+		}
+		return players;
+	}
+
+	/*
+	 * Lookups are done in bulk, names that are not found are checked in pending joins (like single lookups), and then looked up one by one (if provider is not warm yet)
+	 */
+	@Override
+	public Map<String, T> getByNames(Collection<String> names) {
+		Map<String, T> players = lookupByNames(names);
+		if (!pendingJoinsByUUID.isEmpty() && (players.size() < names.size())) {
+			for (String name : names) {
+				if (!players.containsKey(name)) {
+					T player = lookupPendingJoinByName(name, false);
+					if (player != null) {
+						players.put(name, player);
+					}
+				}
+			}
+		}
+		if (!warm && (players.size() < names.size())) {
+			for (String name : names) {
+				if (!players.containsKey(name)) {
+					T player = getByName(name);
+					if (player != null) {
+						players.put(name, player);
+					}
+				}
+			}
+		}
+		return players;
+	}
+
+	/*
+	 * Pending joins are few, so they are just scanned
+	 */
+	protected T lookupPendingJoinByName(String name, boolean ignoreCase) {
+		if (pendingJoinsByUUID.isEmpty()) {
+			return null;
+		}
+		T found = null;
+		for (T player : pendingJoinsByUUID.values()) {
+			String pname = player.getName();
+			if (name.equals(pname)) {
+				return player;
+			}
+			if (ignoreCase && name.equalsIgnoreCase(pname)) {
+				found = player;
+			}
+		}
+		return found;
+	}
+
+	protected Map<UUID, T> lookupByUUIDs(Collection<UUID> uuids) {
+		Map<UUID, T> players = new LinkedHashMap<>();
+		for (UUID uuid : uuids) {
+			T player = byUUID.get(uuid);
+			if (player != null) {
+				players.put(uuid, player);
+			}
+		}
+		return players;
+	}
+
+	protected Map<String, T> lookupByNames(Collection<String> names) {
+		Map<String, T> players = new LinkedHashMap<>();
+		for (String name : names) {
+			T player = byName.get(name);
+			if (player != null) {
+				players.put(name, player);
+			}
+		}
+		return players;
+	}
+
+	protected T lookupByUUID(UUID uuid) {
+		return byUUID.get(uuid);
+	}
+
+	protected T lookupByName(String name) {
+		return byName.get(name);
+	}
+
+	protected T lookupByNameIgnoreCase(String name) {
+		return byName.getIgnoreCase(name);
+	}
+
+	/*
+	 * Player is added to the provider, so next lookup won't need direct lookup again
+	 */
+	protected T loadDirect(OfflinePlayer player) {
+		if ((player == null) || (!player.isOnline() && !player.hasPlayedBefore())) {
+			return null;
+		}
+		T newplayer = createPlayerInfo(player.getUniqueId(), player.getName());
+		long stamp = lock.writeLock();
 		try {
-			return byName.get(name);
+			return putPlayerInfo(newplayer, false);
 		} finally {
-			lock.unlockRead(stamp);
+			lock.unlockWrite(stamp);
 		}
 	}
 
@@ -65,39 +492,134 @@ public abstract class AbstractCachedPlayerInfoProvider<T extends PlayerInfo> imp
 		return createPlayerInfo(player);
 	}
 
+	/*
+	 * Iterates all known players using sorted name index
+	 */
+	@Override
+	public void forEachStartingWith(String prefix, boolean ignoreCase, Predicate<? super T> action) {
+		NameUtils.forEachStartingWith(byNameSorted, prefix, ignoreCase, action);
+	}
+
+	/*
+	 * Name prefix iteration reads only concurrent indexes (subclasses that override it with other stores should keep it thread-safe)
+	 */
+	@Override
+	public boolean isForEachStartingWithThreadSafe() {
+		return true;
+	}
+
+	/*
+	 * Joined players are added to the pending queue and visible by uuid immediately
+	 * Queue is applied to the indexes every tick or once it reaches join batch size, so write lock is not taken for every join
+	 */
+	protected final Queue<T> pendingJoins = new ConcurrentLinkedQueue<>();
+	protected final Map<UUID, T> pendingJoinsByUUID = new ConcurrentHashMap<>();
+	protected final AtomicInteger pendingJoinsCount = new AtomicInteger();
+
+	/**
+	 * Returns pending joins count after which joins are applied without waiting for the next tick
+	 * @return join batch size
+	 */
+	protected int getJoinBatchSize() {
+		return 256;
+	}
+
 	@EventHandler(priority = EventPriority.LOWEST)
 	public void onPlayerJoin(PlayerJoinEvent event) {
-		add(event.getPlayer());
+		Player player = event.getPlayer();
+		queueJoin(createPlayerInfo(player.getUniqueId(), player.getName()));
 	}
 
-	protected void add(OfflinePlayer player) {
+	protected void queueJoin(T newplayer) {
+		pendingJoinsByUUID.put(newplayer.getUUID(), newplayer);
+		pendingJoins.add(newplayer);
+		if (pendingJoinsCount.incrementAndGet() >= getJoinBatchSize()) {
+			flushJoins();
+		}
+	}
+
+	/**
+	 * Applies pending joins to the indexes (in one write lock hold)
+	 */
+	public void flushJoins() {
+		if (pendingJoins.isEmpty()) {
+			return;
+		}
 		long stamp = lock.writeLock();
 		try {
-			Optional.ofNullable(byUUID.remove(player.getUniqueId()))
-			.ifPresent(cplayer -> byName.remove(cplayer.getName()));
-			T newplayer = createPlayerInfo(player);
-			byUUID.put(newplayer.getUUID(), newplayer);
-			byName.put(newplayer.getName(), newplayer);
+			T newplayer;
+			while ((newplayer = pendingJoins.poll()) != null) {
+				pendingJoinsCount.decrementAndGet();
+				putPlayerInfo(newplayer, true);
+				//removed after put, so player is never missing from lookups
+				pendingJoinsByUUID.remove(newplayer.getUUID(), newplayer);
+			}
 		} finally {
 			lock.unlockWrite(stamp);
 		}
 	}
 
+	/*
+	 * Only player identity is cached, so player objects of players that quit are not retained
+	 */
+	protected void add(OfflinePlayer player) {
+		addPlayerInfo(createPlayerInfo(player.getUniqueId(), player.getName()));
+	}
+
 	protected void add(Player player) {
+		addPlayerInfo(createPlayerInfo(player.getUniqueId(), player.getName()));
+	}
+
+	protected void addPlayerInfo(T newplayer) {
 		long stamp = lock.writeLock();
 		try {
-			Optional.ofNullable(byUUID.remove(player.getUniqueId()))
-			.ifPresent(cplayer -> byName.remove(cplayer.getName()));
-			T newplayer = createPlayerInfo(player);
-			byUUID.put(newplayer.getUUID(), newplayer);
-			byName.put(newplayer.getName(), newplayer);
+			putPlayerInfo(newplayer, true);
 		} finally {
 			lock.unlockWrite(stamp);
 		}
 	}
 
+	/*
+	 * Should be called only under write lock
+	 * Returns player info that is present in provider after the call
+	 */
+	protected T putPlayerInfo(T newplayer, boolean replace) {
+		T cplayer = replace ? byUUID.put(newplayer.getUUID(), newplayer) : byUUID.putIfAbsent(newplayer.getUUID(), newplayer);
+		if (!replace && (cplayer != null)) {
+			return cplayer;
+		}
+		String name = newplayer.getName();
+		if (name != null) {
+			if (replace) {
+				byName.put(name, newplayer);
+				byNameSorted.put(name, newplayer);
+			} else {
+				//don't replace name of a player that is already present (name could have been taken by another player since)
+				byName.putIfAbsent(name, newplayer);
+				byNameSorted.putIfAbsent(name, newplayer);
+			}
+		}
+		String cname = cplayer != null ? cplayer.getName() : null;
+		if ((cname != null) && !cname.equals(name)) {
+			byName.remove(cname, cplayer);
+			byNameSorted.remove(cname, cplayer);
+		}
+		return newplayer;
+	}
+
 	protected abstract T createPlayerInfo(Player player);
 
 	protected abstract T createPlayerInfo(OfflinePlayer player);
 
+	/**
+	 * Creates player info that is stored in the cache, it should keep only player identity (and resolve player objects on demand)<br>
+	 * Default implementation uses {@link #createPlayerInfo(OfflinePlayer)} with {@link UnknownOfflinePlayer}, which keeps only uuid and name
+	 * @param uuid uuid
+	 * @param name name or null if unknown
+	 * @return player info
+	 */
+	protected T createPlayerInfo(UUID uuid, String name) {
+		return createPlayerInfo(new UnknownOfflinePlayer(uuid, name));
+	}
+
 }
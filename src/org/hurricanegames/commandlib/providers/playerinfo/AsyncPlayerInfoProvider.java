@@ -0,0 +1,38 @@
+package org.hurricanegames.commandlib.providers.playerinfo;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Player info provider which lookups may need slow (storage) access<br>
+ * Synchronous lookups from {@link PlayerInfoProvider} may block, so they shouldn't be used on the main thread, asynchronous lookups should be used instead<br>
+ * Returned futures complete on the main thread (already completed futures run callbacks on the calling thread), so callbacks can use bukkit api
+ * @param <T> player info type
+ */
+public interface AsyncPlayerInfoProvider<T extends PlayerInfo> extends PlayerInfoProvider<T> {
+
+	/**
+	 * Returns future of player by uuid
+	 * @param uuid uuid
+	 * @return future of player or null if not found
+	 */
+	public CompletableFuture<T> getByUUIDAsync(UUID uuid);
+
+	/**
+	 * Returns future of player by name
+	 * @param name name
+	 * @return future of player or null if not found
+	 */
+	public CompletableFuture<T> getByNameAsync(String name);
+
+	/**
+	 * Returns future of player by name ignoring case<br>
+	 * Default implementation uses {@link #getByNameAsync(String)}
+	 * @param name name
+	 * @return future of player or null if not found
+	 */
+	public default CompletableFuture<T> getByNameIgnoreCaseAsync(String name) {
+		return getByNameAsync(name);
+	}
+
+}
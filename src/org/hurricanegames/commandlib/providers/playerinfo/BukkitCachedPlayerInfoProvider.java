@@ -0,0 +1,39 @@
+package org.hurricanegames.commandlib.providers.playerinfo;
+
+import java.util.UUID;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.hurricanegames.commandlib.utils.UnknownOfflinePlayer;
+
+/**
+ * Cached bukkit player info provider, cached player infos keep only uuid and name
+ */
+public class BukkitCachedPlayerInfoProvider extends AbstractCachedPlayerInfoProvider<BukkitPlayerInfo> {
+
+	public BukkitCachedPlayerInfoProvider(Plugin plugin) {
+		super(plugin);
+	}
+
+	@Override
+	public BukkitPlayerInfo createUnknown(UUID uuid) {
+		return new BukkitPlayerInfo(new UnknownOfflinePlayer(uuid));
+	}
+
+	@Override
+	protected BukkitPlayerInfo createPlayerInfo(Player player) {
+		return new BukkitPlayerInfo(player);
+	}
+
+	@Override
+	protected BukkitPlayerInfo createPlayerInfo(OfflinePlayer player) {
+		return new BukkitPlayerInfo(player);
+	}
+
+	@Override
+	protected BukkitPlayerInfo createPlayerInfo(UUID uuid, String name) {
+		return new BukkitPlayerInfo(uuid, name);
+	}
+
+}
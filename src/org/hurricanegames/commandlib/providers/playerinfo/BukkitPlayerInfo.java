@@ -2,29 +2,56 @@ package org.hurricanegames.commandlib.providers.playerinfo;
 
 import java.util.UUID;
 
+import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
 
 public class BukkitPlayerInfo implements PlayerInfo {
 
+	protected final UUID uuid;
+	protected final String name;
 	protected final OfflinePlayer offlineplayer;
 	public BukkitPlayerInfo(OfflinePlayer offlineplayer) {
+		this.uuid = offlineplayer.getUniqueId();
+		this.name = offlineplayer.getName();
 		this.offlineplayer = offlineplayer;
 	}
 
+	/**
+	 * Creates player info that keeps only uuid and name, player is resolved on demand
+	 * @param uuid uuid
+	 * @param name name
+	 */
+	public BukkitPlayerInfo(UUID uuid, String name) {
+		this.uuid = uuid;
+		this.name = name;
+		this.offlineplayer = null;
+	}
+
+	/**
+	 * Returns player, if player info keeps only uuid and name, player is resolved using {@link Bukkit#getOfflinePlayer(UUID)} (which returns online player if player is online)
+	 * @return player
+	 */
 	public OfflinePlayer getPlayer() {
-		return offlineplayer;
+		return offlineplayer != null ? offlineplayer : Bukkit.getOfflinePlayer(uuid);
+	}
+
+	/**
+	 * Returns online player
+	 * @return online player or null if player is not online
+	 */
+	public Player getOnlinePlayer() {
+		return Bukkit.getPlayer(uuid);
 	}
 
 	@Override
 	public UUID getUUID() {
-		return offlineplayer.getUniqueId();
+		return uuid;
 	}
 
 	@Override
 	public String getName() {
-		return offlineplayer.getName();
+		return name;
 	}
 
-
-
-}
\ No newline at end of file
+}
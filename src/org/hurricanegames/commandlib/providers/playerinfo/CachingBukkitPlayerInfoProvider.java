@@ -0,0 +1,163 @@
+package org.hurricanegames.commandlib.providers.playerinfo;
+
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.hurricanegames.commandlib.utils.ExpiringLruCache;
+
+/**
+ * Bukkit player info provider that caches lookup results<br>
+ * Found players are cached in bounded LRU cache with time to live, names and uuids of players that never played are cached in separate negative caches, so repeated lookups of unknown players don't reach bukkit lookup (which can block on a profile lookup)<br>
+ * Found players are cached by both exact and lower-cased name, so lookups by exact or lower-cased name don't allocate lower-cased key ({@link String#toLowerCase(Locale)} returns the same string if it is already lower-cased)<br>
+ * Online players are always checked first, so players that join are found even if their name or uuid is in the negative cache<br>
+ * Unlike {@link BukkitPlayerInfoProvider}, returns null for players that never played
+ */
+public class CachingBukkitPlayerInfoProvider extends BukkitPlayerInfoProvider {
+
+	protected final ExpiringLruCache<UUID, BukkitPlayerInfo> byUUID;
+	protected final ExpiringLruCache<String, BukkitPlayerInfo> byName;
+	protected final ExpiringLruCache<String, Boolean> unknownNames;
+	protected final ExpiringLruCache<UUID, Boolean> unknownUUIDs;
+
+	protected final LongAdder hits = new LongAdder();
+	protected final LongAdder negativeHits = new LongAdder();
+	protected final LongAdder misses = new LongAdder();
+
+	public CachingBukkitPlayerInfoProvider() {
+		this(10000, TimeUnit.MINUTES.toMillis(10), TimeUnit.MINUTES.toMillis(1));
+	}
+
+	/**
+	 * Creates provider
+	 * @param maxSize max cached players count (and max cached unknown names and uuids count)
+	 * @param ttl cached player time to live in milliseconds
+	 * @param negativeTtl cached unknown name or uuid time to live in milliseconds
+	 */
+	public CachingBukkitPlayerInfoProvider(int maxSize, long ttl, long negativeTtl) {
+		this.byUUID = new ExpiringLruCache<>(maxSize, ttl, TimeUnit.MILLISECONDS);
+		this.byName = new ExpiringLruCache<>(maxSize * 2, ttl, TimeUnit.MILLISECONDS);
+		this.unknownNames = new ExpiringLruCache<>(maxSize, negativeTtl, TimeUnit.MILLISECONDS);
+		this.unknownUUIDs = new ExpiringLruCache<>(maxSize, negativeTtl, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public BukkitPlayerInfo getByUUID(UUID uuid) {
+		BukkitPlayerInfo player = byUUID.get(uuid);
+		if (player != null) {
+			hits.increment();
+			return player;
+		}
+		if (unknownUUIDs.get(uuid) != null) {
+			Player online = Bukkit.getPlayer(uuid);
+			if (online == null) {
+				negativeHits.increment();
+				return null;
+			}
+			misses.increment();
+			return cache(online);
+		}
+		misses.increment();
+		player = cache(Bukkit.getOfflinePlayer(uuid));
+		if (player == null) {
+			unknownUUIDs.put(uuid, Boolean.TRUE);
+		}
+		return player;
+	}
+
+	@SuppressWarnings("deprecation")
+	@Override
+	public BukkitPlayerInfo getByName(String name) {
+		Player online = Bukkit.getPlayerExact(name);
+		if (online != null) {
+			hits.increment();
+			BukkitPlayerInfo player = byUUID.get(online.getUniqueId());
+			if ((player != null) && online.getName().equals(player.getName())) {
+				return player;
+			}
+			return cache(online);
+		}
+		BukkitPlayerInfo player = byName.get(name);
+		if (player != null) {
+			hits.increment();
+			return player;
+		}
+		String key = name.toLowerCase(Locale.ROOT);
+		if (key != name) {
+			player = byName.get(key);
+			if (player != null) {
+				hits.increment();
+				return player;
+			}
+		}
+		if (unknownNames.get(key) != null) {
+			negativeHits.increment();
+			return null;
+		}
+		misses.increment();
+		player = cache(Bukkit.getOfflinePlayer(name));
+		if (player == null) {
+			unknownNames.put(key, Boolean.TRUE);
+		}
+		return player;
+	}
+
+	/*
+	 * Bukkit name lookup already ignores case
+	 */
+	@Override
+	public BukkitPlayerInfo getByNameIgnoreCase(String name) {
+		return getByName(name);
+	}
+
+	/*
+	 * Only uuid and name are cached, so player objects are not retained
+	 */
+	protected BukkitPlayerInfo cache(OfflinePlayer offlineplayer) {
+		if ((offlineplayer == null) || (!offlineplayer.isOnline() && !offlineplayer.hasPlayedBefore())) {
+			return null;
+		}
+		BukkitPlayerInfo player = new BukkitPlayerInfo(offlineplayer.getUniqueId(), offlineplayer.getName());
+		byUUID.put(player.getUUID(), player);
+		unknownUUIDs.remove(player.getUUID());
+		String name = player.getName();
+		if (name != null) {
+			String key = name.toLowerCase(Locale.ROOT);
+			byName.put(name, player);
+			byName.put(key, player);
+			unknownNames.remove(key);
+		}
+		return player;
+	}
+
+	/**
+	 * Removes all cached players and unknown names and uuids
+	 */
+	public void invalidate() {
+		byUUID.clear();
+		byName.clear();
+		unknownNames.clear();
+		unknownUUIDs.clear();
+	}
+
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns count of lookups that were answered by negative cache
+	 * @return negative cache hits count
+	 */
+	public long getNegativeHitCount() {
+		return negativeHits.sum();
+	}
+
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+}
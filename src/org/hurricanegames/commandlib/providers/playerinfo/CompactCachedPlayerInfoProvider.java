@@ -0,0 +1,98 @@
+package org.hurricanegames.commandlib.providers.playerinfo;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Cached player info provider that keeps players in {@link CompactPlayerInfoStore} instead of maps of player info objects<br>
+ * Uses a lot less memory with large amount of players, but player info objects are created on every lookup (so they should be lightweight views of uuid and name)<br>
+ * Name prefix iteration binary searches store sorted name index (in case-insensitive name order)
+ * @param <T> player info type
+ */
+public abstract class CompactCachedPlayerInfoProvider<T extends PlayerInfo> extends AbstractCachedPlayerInfoProvider<T> {
+
+	protected final CompactPlayerInfoStore store = new CompactPlayerInfoStore();
+
+	public CompactCachedPlayerInfoProvider(Plugin plugin) {
+		super(plugin, false);
+	}
+
+	@Override
+	protected T lookupByUUID(UUID uuid) {
+		return store.getByUUID(uuid, playerInfoFactory);
+	}
+
+	@Override
+	protected T lookupByName(String name) {
+		return store.getByName(name, false, playerInfoFactory);
+	}
+
+	@Override
+	protected T lookupByNameIgnoreCase(String name) {
+		return store.getByName(name, true, playerInfoFactory);
+	}
+
+	@Override
+	protected Map<UUID, T> lookupByUUIDs(Collection<UUID> uuids) {
+		return store.getByUUIDs(uuids, playerInfoFactory);
+	}
+
+	@Override
+	protected Map<String, T> lookupByNames(Collection<String> names) {
+		return store.getByNames(names, false, playerInfoFactory);
+	}
+
+	/*
+	 * Iterates all known players using compact store sorted name index
+	 */
+	@Override
+	public void forEachStartingWith(String prefix, boolean ignoreCase, Predicate<? super T> action) {
+		store.forEachStartingWith(prefix, ignoreCase, (uuid, name) -> action.test(createPlayerInfo(uuid, name)));
+	}
+
+	@Override
+	protected void forEachCached(Consumer<T> action) {
+		store.forEachStartingWith("", false, (uuid, name) -> {
+			action.accept(createPlayerInfo(uuid, name));
+			return true;
+		});
+	}
+
+	/*
+	 * Only uuid and name are stored, player info object is discarded
+	 */
+	@Override
+	protected T putPlayerInfo(T newplayer, boolean replace) {
+		if (store.put(newplayer.getUUID(), newplayer.getName(), replace)) {
+			return newplayer;
+		}
+		return lookupByUUID(newplayer.getUUID());
+	}
+
+	@Override
+	protected T createPlayerInfo(Player player) {
+		return createPlayerInfo(player.getUniqueId(), player.getName());
+	}
+
+	@Override
+	protected T createPlayerInfo(OfflinePlayer player) {
+		return createPlayerInfo(player.getUniqueId(), player.getName());
+	}
+
+	/**
+	 * Creates player info view
+	 * @param uuid uuid
+	 * @param name name or null if unknown
+	 * @return player info
+	 */
+	@Override
+	protected abstract T createPlayerInfo(UUID uuid, String name);
+
+}
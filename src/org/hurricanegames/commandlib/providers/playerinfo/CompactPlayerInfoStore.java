@@ -0,0 +1,697 @@
+package org.hurricanegames.commandlib.providers.playerinfo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+import org.hurricanegames.commandlib.utils.CaseInsensitiveNameMap;
+
+/**
+ * Compact store of player uuids and names, that doesn't keep an object per player<br>
+ * Players are records in primitive arrays: uuids are stored as pairs of longs, names are packed into a byte arena (ascii names as single bytes, other names as utf-8)<br>
+ * UUID and name lookups use open addressing tables of record indexes, name table is keyed by case-insensitive name hash (so both exact and case-insensitive lookups are supported)<br>
+ * Name prefix iteration binary searches array of record indexes sorted by case-insensitive name, names put since the last prefix iteration are sorted and merged into it on the next prefix iteration (so a batch of puts costs one merge)<br>
+ * Player uuid and name objects are created only when requested<br>
+ * <br>
+ * Reads use optimistic locking (falling back to read lock if a modification happened during read), modifications are serialized by write lock
+ */
+public class CompactPlayerInfoStore {
+
+	protected static final int INITIAL_CAPACITY = 1024;
+	protected static final int ITERATION_BATCH_SIZE = 64;
+
+	protected final StampedLock lock = new StampedLock();
+
+	protected int count;
+	protected long[] uuidsMost = new long[INITIAL_CAPACITY];
+	protected long[] uuidsLeast = new long[INITIAL_CAPACITY];
+	/*
+	 * Name arena offset and length, negative length means that name is stored as utf-8 instead of ascii, -1 offset means no name
+	 */
+	protected int[] namesOffsets = new int[INITIAL_CAPACITY];
+	protected short[] namesLengths = new short[INITIAL_CAPACITY];
+	protected int[] namesHashes = new int[INITIAL_CAPACITY];
+	/*
+	 * Sequence of the last record name update, used to choose the most recent name when multiple names match
+	 * Names that were put without replace get -1 sequence, so they never take precedence over names that were put with replace
+	 */
+	protected int[] namesSequences = new int[INITIAL_CAPACITY];
+	protected int nameSequence;
+
+	protected byte[] namesArena = new byte[INITIAL_CAPACITY * 8];
+	protected int namesArenaSize;
+
+	/*
+	 * Open addressing tables (linear probing) of record index + 1, 0 means empty slot
+	 */
+	protected int[] uuidTable = new int[INITIAL_CAPACITY * 2];
+	protected int[] nameTable = new int[INITIAL_CAPACITY * 2];
+	protected int namesCount;
+
+	/*
+	 * Record indexes sorted by case-insensitive name (ties are ordered by record index)
+	 * Records which names were set since the last sort are kept in unsorted names, if a name was removed, sorted names contain stale records and are rebuilt from scratch
+	 * Sorted names version changes every time sorted names are modified, so prefix iteration can detect that it needs to find its position again
+	 */
+	protected int[] sortedNames = new int[INITIAL_CAPACITY];
+	protected int sortedNamesCount;
+	protected int[] unsortedNames = new int[INITIAL_CAPACITY];
+	protected int unsortedNamesCount;
+	protected boolean sortedNamesStale;
+	protected int sortedNamesVersion;
+
+	public int size() {
+		long stamp = lock.tryOptimisticRead();
+		int size = count;
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				size = count;
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Returns approximate heap size of this store
+	 * @return size in bytes
+	 */
+	public long getMemoryUsage() {
+		long stamp = lock.readLock();
+		try {
+			return
+				(uuidsMost.length * 8L) + (uuidsLeast.length * 8L) +
+				(namesOffsets.length * 4L) + (namesLengths.length * 2L) + (namesHashes.length * 4L) + (namesSequences.length * 4L) +
+				namesArena.length + (uuidTable.length * 4L) + (nameTable.length * 4L) +
+				(sortedNames.length * 4L) + (unsortedNames.length * 4L);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Returns player by uuid
+	 * @param <R> player type
+	 * @param uuid uuid
+	 * @param factory player factory, called with uuid and name (which can be null if unknown)
+	 * @return player or null if not found
+	 */
+	public <R> R getByUUID(UUID uuid, BiFunction<UUID, String, R> factory) {
+		long most = uuid.getMostSignificantBits();
+		long least = uuid.getLeastSignificantBits();
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0) {
+			try {
+				int record = findUUID(most, least);
+				String name = record != -1 ? getName(record) : null;
+				if (lock.validate(stamp)) {
+					return record != -1 ? factory.apply(uuid, name) : null;
+				}
+			} catch (RuntimeException e) {
+				//inconsistent read, retry under read lock
+			}
+		}
+		stamp = lock.readLock();
+		try {
+			int record = findUUID(most, least);
+			return record != -1 ? factory.apply(uuid, getName(record)) : null;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Returns player by name<br>
+	 * If multiple names match, exact-case name is preferred, otherwise the most recently put name is used
+	 * @param <R> player type
+	 * @param name name
+	 * @param ignoreCase true if name should be matched ignoring case
+	 * @param factory player factory, called with uuid and stored name
+	 * @return player or null if not found
+	 */
+	public <R> R getByName(String name, boolean ignoreCase, BiFunction<UUID, String, R> factory) {
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0) {
+			try {
+				int record = findName(name, ignoreCase);
+				UUID uuid = record != -1 ? new UUID(uuidsMost[record], uuidsLeast[record]) : null;
+				String rname = record != -1 ? getName(record) : null;
+				if (lock.validate(stamp)) {
+					return record != -1 ? factory.apply(uuid, rname) : null;
+				}
+			} catch (RuntimeException e) {
+				//inconsistent read, retry under read lock
+			}
+		}
+		stamp = lock.readLock();
+		try {
+			int record = findName(name, ignoreCase);
+			return record != -1 ? factory.apply(new UUID(uuidsMost[record], uuidsLeast[record]), getName(record)) : null;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Returns players by uuids, lookups are done under a single read lock hold
+	 * @param <R> player type
+	 * @param uuids uuids
+	 * @param factory player factory, called with uuid and name (which can be null if unknown)
+	 * @return players by uuid (in uuids iteration order), players that are not found are absent
+	 */
+	public <R> Map<UUID, R> getByUUIDs(Collection<UUID> uuids, BiFunction<UUID, String, R> factory) {
+		Map<UUID, R> players = new LinkedHashMap<>();
+		long stamp = lock.readLock();
+		try {
+			for (UUID uuid : uuids) {
+				int record = findUUID(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+				if (record != -1) {
+					players.put(uuid, factory.apply(uuid, getName(record)));
+				}
+			}
+		} finally {
+			lock.unlockRead(stamp);
+		}
+		return players;
+	}
+
+	/**
+	 * Returns players by names, lookups are done under a single read lock hold
+	 * @param <R> player type
+	 * @param names names
+	 * @param ignoreCase true if names should be matched ignoring case
+	 * @param factory player factory, called with uuid and stored name
+	 * @return players by requested name (in names iteration order), players that are not found are absent
+	 */
+	public <R> Map<String, R> getByNames(Collection<String> names, boolean ignoreCase, BiFunction<UUID, String, R> factory) {
+		Map<String, R> players = new LinkedHashMap<>();
+		long stamp = lock.readLock();
+		try {
+			for (String name : names) {
+				int record = findName(name, ignoreCase);
+				if (record != -1) {
+					players.put(name, factory.apply(new UUID(uuidsMost[record], uuidsLeast[record]), getName(record)));
+				}
+			}
+		} finally {
+			lock.unlockRead(stamp);
+		}
+		return players;
+	}
+
+	/**
+	 * Passes uuids and names of players which names start with provided prefix (in case-insensitive name order) to action until it returns false<br>
+	 * Records are read in batches, action is called without holding the lock
+	 * @param prefix name prefix
+	 * @param ignoreCase true if prefix should be matched ignoring case
+	 * @param action player action, returns false to stop iteration
+	 */
+	public void forEachStartingWith(String prefix, boolean ignoreCase, BiPredicate<UUID, String> action) {
+		UUID[] batchUUIDs = new UUID[ITERATION_BATCH_SIZE];
+		String[] batchNames = new String[ITERATION_BATCH_SIZE];
+		int position = -1;
+		int version = 0;
+		int lastRecord = -1;
+		while (true) {
+			int batchSize = 0;
+			boolean end = false;
+			long stamp = readLockSortedNames();
+			try {
+				if (position == -1) {
+					position = findSortedNamesStart(prefix);
+				} else if (version != sortedNamesVersion) {
+					position = findSortedNamesAfter(batchNames[ITERATION_BATCH_SIZE - 1], lastRecord);
+				}
+				version = sortedNamesVersion;
+				for (; batchSize < ITERATION_BATCH_SIZE; position++) {
+					if (position >= sortedNamesCount) {
+						end = true;
+						break;
+					}
+					int record = sortedNames[position];
+					if (!nameStartsWith(record, prefix, true)) {
+						end = true;
+						break;
+					}
+					if (ignoreCase || nameStartsWith(record, prefix, false)) {
+						batchUUIDs[batchSize] = new UUID(uuidsMost[record], uuidsLeast[record]);
+						batchNames[batchSize] = getName(record);
+						batchSize++;
+						lastRecord = record;
+					}
+				}
+			} finally {
+				lock.unlockRead(stamp);
+			}
+			for (int i = 0; i < batchSize; i++) {
+				if (!action.test(batchUUIDs[i], batchNames[i])) {
+					return;
+				}
+			}
+			if (end) {
+				return;
+			}
+		}
+	}
+
+	/*
+	 * Sorts names under write lock if needed, then downgrades it to read lock
+	 */
+	protected long readLockSortedNames() {
+		long stamp = lock.readLock();
+		if ((unsortedNamesCount == 0) && !sortedNamesStale) {
+			return stamp;
+		}
+		long writeStamp = lock.tryConvertToWriteLock(stamp);
+		if (writeStamp == 0) {
+			lock.unlockRead(stamp);
+			writeStamp = lock.writeLock();
+		}
+		sortNames();
+		return lock.tryConvertToReadLock(writeStamp);
+	}
+
+	/*
+	 * Should be called only under write lock
+	 * New names are sorted and merged into already sorted names, all names are sorted again only if some names were removed
+	 */
+	protected void sortNames() {
+		if (sortedNamesStale) {
+			sortedNamesCount = 0;
+			unsortedNamesCount = 0;
+			if (unsortedNames.length < count) {
+				unsortedNames = new int[uuidsMost.length];
+			}
+			for (int record = 0; record < count; record++) {
+				if (namesOffsets[record] != -1) {
+					unsortedNames[unsortedNamesCount++] = record;
+				}
+			}
+			sortedNamesStale = false;
+		}
+		if (unsortedNamesCount == 0) {
+			return;
+		}
+		int[] buffer = new int[unsortedNamesCount];
+		sortRecords(unsortedNames, 0, unsortedNamesCount, buffer);
+		int[] merged = new int[Math.max(sortedNames.length, Integer.highestOneBit(sortedNamesCount + unsortedNamesCount) << 1)];
+		int sortedIndex = 0;
+		int unsortedIndex = 0;
+		int mergedIndex = 0;
+		while ((sortedIndex < sortedNamesCount) && (unsortedIndex < unsortedNamesCount)) {
+			if (compareRecords(sortedNames[sortedIndex], unsortedNames[unsortedIndex]) <= 0) {
+				merged[mergedIndex++] = sortedNames[sortedIndex++];
+			} else {
+				merged[mergedIndex++] = unsortedNames[unsortedIndex++];
+			}
+		}
+		System.arraycopy(sortedNames, sortedIndex, merged, mergedIndex, sortedNamesCount - sortedIndex);
+		mergedIndex += sortedNamesCount - sortedIndex;
+		System.arraycopy(unsortedNames, unsortedIndex, merged, mergedIndex, unsortedNamesCount - unsortedIndex);
+		mergedIndex += unsortedNamesCount - unsortedIndex;
+		sortedNames = merged;
+		sortedNamesCount = mergedIndex;
+		unsortedNamesCount = 0;
+		sortedNamesVersion++;
+	}
+
+	/*
+	 * Merge sort, so it doesn't need boxed record indexes
+	 */
+	protected void sortRecords(int[] records, int from, int to, int[] buffer) {
+		if ((to - from) < 2) {
+			return;
+		}
+		int middle = (from + to) >>> 1;
+		sortRecords(records, from, middle, buffer);
+		sortRecords(records, middle, to, buffer);
+		if (compareRecords(records[middle - 1], records[middle]) <= 0) {
+			return;
+		}
+		System.arraycopy(records, from, buffer, from, to - from);
+		int left = from;
+		int right = middle;
+		for (int i = from; i < to; i++) {
+			if ((right >= to) || ((left < middle) && (compareRecords(buffer[left], buffer[right]) <= 0))) {
+				records[i] = buffer[left++];
+			} else {
+				records[i] = buffer[right++];
+			}
+		}
+	}
+
+	/*
+	 * Returns position of the first sorted name that is not less than prefix ignoring case (names that start with prefix ignoring case follow it)
+	 */
+	protected int findSortedNamesStart(String prefix) {
+		int low = 0;
+		int high = sortedNamesCount;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (compareName(sortedNames[mid], prefix) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/*
+	 * Returns position of the first sorted name that follows provided name and record in sort order
+	 */
+	protected int findSortedNamesAfter(String name, int record) {
+		int low = 0;
+		int high = sortedNamesCount;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			int midRecord = sortedNames[mid];
+			int compare = compareName(midRecord, name);
+			if (compare == 0) {
+				compare = Integer.compare(midRecord, record);
+			}
+			if (compare <= 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Puts player
+	 * @param uuid uuid
+	 * @param name name or null if unknown
+	 * @param replace if false and player with the same uuid is already present, nothing is changed, also name doesn't take precedence over the same names of other players
+	 * @return true if player was put
+	 */
+	public boolean put(UUID uuid, String name, boolean replace) {
+		long most = uuid.getMostSignificantBits();
+		long least = uuid.getLeastSignificantBits();
+		long stamp = lock.writeLock();
+		try {
+			int record = findUUID(most, least);
+			if (record == -1) {
+				record = addRecord(most, least);
+			} else if (!replace) {
+				return false;
+			} else {
+				String cname = getName(record);
+				if ((cname != null) && cname.equals(name)) {
+					return true;
+				}
+				if (cname != null) {
+					removeName(record);
+				}
+			}
+			setName(record, name, replace ? nameSequence++ : -1);
+			return true;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	protected int addRecord(long most, long least) {
+		if (count == uuidsMost.length) {
+			int capacity = count << 1;
+			uuidsMost = Arrays.copyOf(uuidsMost, capacity);
+			uuidsLeast = Arrays.copyOf(uuidsLeast, capacity);
+			namesOffsets = Arrays.copyOf(namesOffsets, capacity);
+			namesLengths = Arrays.copyOf(namesLengths, capacity);
+			namesHashes = Arrays.copyOf(namesHashes, capacity);
+			namesSequences = Arrays.copyOf(namesSequences, capacity);
+		}
+		int record = count;
+		uuidsMost[record] = most;
+		uuidsLeast[record] = least;
+		namesOffsets[record] = -1;
+		if (((count + 1) << 1) > uuidTable.length) {
+			uuidTable = new int[uuidTable.length << 1];
+			for (int i = 0; i < count; i++) {
+				insertSlot(uuidTable, uuidHash(uuidsMost[i], uuidsLeast[i]), i);
+			}
+		}
+		insertSlot(uuidTable, uuidHash(most, least), record);
+		count++;
+		return record;
+	}
+
+	/*
+	 * Old name bytes are left in arena (renames are rare)
+	 */
+	protected void setName(int record, String name, int sequence) {
+		if (name == null) {
+			namesOffsets[record] = -1;
+			return;
+		}
+		boolean ascii = true;
+		for (int i = 0; i < name.length(); i++) {
+			if (name.charAt(i) >= 0x80) {
+				ascii = false;
+				break;
+			}
+		}
+		byte[] bytes = ascii ? null : name.getBytes(StandardCharsets.UTF_8);
+		int length = ascii ? name.length() : bytes.length;
+		if (length > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("Name is too long");
+		}
+		if ((namesArenaSize + length) > namesArena.length) {
+			namesArena = Arrays.copyOf(namesArena, Math.max(namesArena.length << 1, namesArenaSize + length));
+		}
+		int offset = namesArenaSize;
+		if (ascii) {
+			for (int i = 0; i < length; i++) {
+				namesArena[offset + i] = (byte) name.charAt(i);
+			}
+		} else {
+			System.arraycopy(bytes, 0, namesArena, offset, length);
+		}
+		namesArenaSize += length;
+		namesOffsets[record] = offset;
+		namesLengths[record] = (short) (ascii ? length : -length);
+		namesHashes[record] = CaseInsensitiveNameMap.hash(name);
+		namesSequences[record] = sequence;
+
+		if (((namesCount + 1) << 1) > nameTable.length) {
+			nameTable = new int[nameTable.length << 1];
+			for (int i = 0; i < count; i++) {
+				if (namesOffsets[i] != -1) {
+					insertSlot(nameTable, namesHashes[i], i);
+				}
+			}
+		}
+		insertSlot(nameTable, namesHashes[record], record);
+		namesCount++;
+
+		if (unsortedNamesCount == unsortedNames.length) {
+			unsortedNames = Arrays.copyOf(unsortedNames, unsortedNamesCount << 1);
+		}
+		unsortedNames[unsortedNamesCount++] = record;
+	}
+
+	/*
+	 * Backward shift deletion, so linear probing chains stay without tombstones
+	 */
+	protected void removeName(int record) {
+		int[] table = nameTable;
+		int mask = table.length - 1;
+		int slot = findSlot(table, namesHashes[record], record);
+		int next = slot;
+		while (true) {
+			next = (next + 1) & mask;
+			int nextValue = table[next];
+			if (nextValue == 0) {
+				break;
+			}
+			int home = namesHashes[nextValue - 1] & mask;
+			boolean canMove = slot <= next ? ((home <= slot) || (home > next)) : ((home <= slot) && (home > next));
+			if (canMove) {
+				table[slot] = nextValue;
+				slot = next;
+			}
+		}
+		table[slot] = 0;
+		namesOffsets[record] = -1;
+		namesCount--;
+		sortedNamesStale = true;
+	}
+
+	protected static void insertSlot(int[] table, int hash, int record) {
+		int mask = table.length - 1;
+		int slot = hash & mask;
+		while (table[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = record + 1;
+	}
+
+	protected static int findSlot(int[] table, int hash, int record) {
+		int mask = table.length - 1;
+		int slot = hash & mask;
+		while (table[slot] != (record + 1)) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/*
+	 * Probing is bounded by table length, so inconsistent optimistic reads always terminate
+	 */
+	protected int findUUID(long most, long least) {
+		int[] table = uuidTable;
+		int mask = table.length - 1;
+		int slot = uuidHash(most, least) & mask;
+		for (int probe = 0; probe < table.length; probe++) {
+			int value = table[slot];
+			if (value == 0) {
+				return -1;
+			}
+			int record = value - 1;
+			if ((uuidsMost[record] == most) && (uuidsLeast[record] == least)) {
+				return record;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	protected int findName(String name, boolean ignoreCase) {
+		int hash = CaseInsensitiveNameMap.hash(name);
+		int[] table = nameTable;
+		int mask = table.length - 1;
+		int slot = hash & mask;
+		int foundExact = -1;
+		int found = -1;
+		for (int probe = 0; probe < table.length; probe++) {
+			int value = table[slot];
+			if (value == 0) {
+				break;
+			}
+			int record = value - 1;
+			if ((namesHashes[record] == hash) && nameMatches(record, name, true)) {
+				if (nameMatches(record, name, false)) {
+					if ((foundExact == -1) || (namesSequences[record] > namesSequences[foundExact])) {
+						foundExact = record;
+					}
+				} else if (ignoreCase && ((found == -1) || (namesSequences[record] > namesSequences[found]))) {
+					found = record;
+				}
+			}
+			slot = (slot + 1) & mask;
+		}
+		return foundExact != -1 ? foundExact : found;
+	}
+
+	protected String getName(int record) {
+		int offset = namesOffsets[record];
+		if (offset == -1) {
+			return null;
+		}
+		int length = namesLengths[record];
+		if (length >= 0) {
+			return new String(namesArena, offset, length, StandardCharsets.ISO_8859_1);
+		} else {
+			return new String(namesArena, offset, -length, StandardCharsets.UTF_8);
+		}
+	}
+
+	protected boolean nameMatches(int record, String name, boolean ignoreCase) {
+		int length = namesLengths[record];
+		if (length < 0) {
+			String rname = getName(record);
+			return ignoreCase ? rname.equalsIgnoreCase(name) : rname.equals(name);
+		}
+		return (length == name.length()) && asciiRegionMatches(record, name, length, ignoreCase);
+	}
+
+	protected boolean nameStartsWith(int record, String prefix, boolean ignoreCase) {
+		int offset = namesOffsets[record];
+		if (offset == -1) {
+			return false;
+		}
+		int length = namesLengths[record];
+		if (length < 0) {
+			return getName(record).regionMatches(ignoreCase, 0, prefix, 0, prefix.length());
+		}
+		return (length >= prefix.length()) && asciiRegionMatches(record, prefix, prefix.length(), ignoreCase);
+	}
+
+	/*
+	 * Compares names ignoring case (the same way as String.CASE_INSENSITIVE_ORDER), then record indexes
+	 */
+	protected int compareRecords(int record1, int record2) {
+		int compare;
+		if ((namesLengths[record1] < 0) || (namesLengths[record2] < 0)) {
+			compare = compareName(record1, getName(record2));
+		} else {
+			byte[] arena = namesArena;
+			int offset1 = namesOffsets[record1];
+			int offset2 = namesOffsets[record2];
+			int length1 = namesLengths[record1];
+			int length2 = namesLengths[record2];
+			compare = length1 - length2;
+			for (int i = 0, length = Math.min(length1, length2); i < length; i++) {
+				char c1 = fold((char) arena[offset1 + i]);
+				char c2 = fold((char) arena[offset2 + i]);
+				if (c1 != c2) {
+					compare = c1 - c2;
+					break;
+				}
+			}
+		}
+		return compare != 0 ? compare : Integer.compare(record1, record2);
+	}
+
+	/*
+	 * Compares record name with provided name ignoring case (the same way as String.CASE_INSENSITIVE_ORDER)
+	 */
+	protected int compareName(int record, String name) {
+		int length = namesLengths[record];
+		if (length < 0) {
+			return String.CASE_INSENSITIVE_ORDER.compare(getName(record), name);
+		}
+		byte[] arena = namesArena;
+		int offset = namesOffsets[record];
+		for (int i = 0, compareLength = Math.min(length, name.length()); i < compareLength; i++) {
+			char c1 = fold((char) arena[offset + i]);
+			char c2 = fold(name.charAt(i));
+			if (c1 != c2) {
+				return c1 - c2;
+			}
+		}
+		return length - name.length();
+	}
+
+	protected boolean asciiRegionMatches(int record, String string, int length, boolean ignoreCase) {
+		byte[] arena = namesArena;
+		int offset = namesOffsets[record];
+		for (int i = 0; i < length; i++) {
+			char c1 = (char) arena[offset + i];
+			char c2 = string.charAt(i);
+			if ((c1 != c2) && (!ignoreCase || (fold(c1) != fold(c2)))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	protected static char fold(char c) {
+		return Character.toLowerCase(Character.toUpperCase(c));
+	}
+
+	protected static int uuidHash(long most, long least) {
+		long hash = (most ^ least) * 0x9E3779B97F4A7C15L;
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+}
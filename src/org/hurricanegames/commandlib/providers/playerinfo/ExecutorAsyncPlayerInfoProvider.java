@@ -0,0 +1,267 @@
+package org.hurricanegames.commandlib.providers.playerinfo;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.hurricanegames.commandlib.utils.BukkitMainThreadExecutor;
+import org.hurricanegames.commandlib.utils.ExpiringLruCache;
+import org.hurricanegames.commandlib.utils.MainThreadExecutor;
+import org.hurricanegames.commandlib.utils.MiscBukkitUtils;
+
+/**
+ * Asynchronous player info provider that loads players from {@link PlayerInfoStorage} using provided executor<br>
+ * Loaded players are kept in read-through cache, concurrent loads of the same player share one storage lookup<br>
+ * Player infos are created on every load (so they should be lightweight views of uuid and name)<br>
+ * Call {@link #update(Player)} on player join to keep storage up to date
+ * @param <T> player info type
+ */
+public abstract class ExecutorAsyncPlayerInfoProvider<T extends PlayerInfo> implements AsyncPlayerInfoProvider<T> {
+
+	protected final Plugin plugin;
+	protected final MainThreadExecutor mainThreadExecutor;
+	protected final PlayerInfoStorage storage;
+	protected final Executor executor;
+
+	protected final ExpiringLruCache<UUID, T> byUUID;
+	//keys are lower case names
+	protected final ExpiringLruCache<String, T> byName;
+
+	protected final ConcurrentHashMap<UUID, CompletableFuture<T>> loadsByUUID = new ConcurrentHashMap<>();
+	protected final ConcurrentHashMap<String, CompletableFuture<T>> loadsByName = new ConcurrentHashMap<>();
+	//keys are lower case names
+	protected final ConcurrentHashMap<String, CompletableFuture<T>> loadsByNameIgnoreCase = new ConcurrentHashMap<>();
+
+	protected final BiFunction<UUID, String, T> playerInfoFactory = this::createPlayerInfo;
+
+	/**
+	 * Creates provider that uses bukkit async scheduler for storage access and caches up to 10000 players for 10 minutes
+	 * @param plugin plugin
+	 * @param storage storage
+	 */
+	public ExecutorAsyncPlayerInfoProvider(Plugin plugin, PlayerInfoStorage storage) {
+		this(plugin, storage, task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task), 10000, TimeUnit.MINUTES.toMillis(10));
+	}
+
+	/**
+	 * Creates provider
+	 * @param plugin plugin that schedules future completion on the main thread
+	 * @param storage storage
+	 * @param executor executor used for storage access
+	 * @param cacheSize max cached players count
+	 * @param cacheTtl cached player time to live in milliseconds
+	 */
+	public ExecutorAsyncPlayerInfoProvider(Plugin plugin, PlayerInfoStorage storage, Executor executor, int cacheSize, long cacheTtl) {
+		this(plugin, new BukkitMainThreadExecutor(plugin), storage, executor, cacheSize, cacheTtl);
+	}
+
+	/**
+	 * Creates provider
+	 * @param plugin plugin
+	 * @param mainThreadExecutor executor that completes futures on the main thread
+	 * @param storage storage
+	 * @param executor executor used for storage access
+	 * @param cacheSize max cached players count
+	 * @param cacheTtl cached player time to live in milliseconds
+	 */
+	public ExecutorAsyncPlayerInfoProvider(Plugin plugin, MainThreadExecutor mainThreadExecutor, PlayerInfoStorage storage, Executor executor, int cacheSize, long cacheTtl) {
+		this.plugin = plugin;
+		this.mainThreadExecutor = mainThreadExecutor;
+		this.storage = storage;
+		this.executor = executor;
+		this.byUUID = new ExpiringLruCache<>(cacheSize, cacheTtl, TimeUnit.MILLISECONDS);
+		this.byName = new ExpiringLruCache<>(cacheSize, cacheTtl, TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public CompletableFuture<T> getByUUIDAsync(UUID uuid) {
+		T player = byUUID.get(uuid);
+		if (player != null) {
+			return CompletableFuture.completedFuture(player);
+		}
+		return load(loadsByUUID, uuid, () -> storage.loadByUUID(uuid, playerInfoFactory));
+	}
+
+	@Override
+	public CompletableFuture<T> getByNameAsync(String name) {
+		T player = getCachedByName(name, false);
+		if (player != null) {
+			return CompletableFuture.completedFuture(player);
+		}
+		return load(loadsByName, name, () -> storage.loadByName(name, false, playerInfoFactory));
+	}
+
+	@Override
+	public CompletableFuture<T> getByNameIgnoreCaseAsync(String name) {
+		T player = getCachedByName(name, true);
+		if (player != null) {
+			return CompletableFuture.completedFuture(player);
+		}
+		return load(loadsByNameIgnoreCase, name.toLowerCase(Locale.ROOT), () -> storage.loadByName(name, true, playerInfoFactory));
+	}
+
+	/*
+	 * Blocks on storage access if player is not cached
+	 */
+	@Override
+	public T getByUUID(UUID uuid) {
+		T player = byUUID.get(uuid);
+		return player != null ? player : loadNow(() -> storage.loadByUUID(uuid, playerInfoFactory));
+	}
+
+	/*
+	 * Blocks on storage access if player is not cached
+	 */
+	@Override
+	public T getByName(String name) {
+		T player = getCachedByName(name, false);
+		return player != null ? player : loadNow(() -> storage.loadByName(name, false, playerInfoFactory));
+	}
+
+	/*
+	 * Blocks on storage access if player is not cached
+	 */
+	@Override
+	public T getByNameIgnoreCase(String name) {
+		T player = getCachedByName(name, true);
+		return player != null ? player : loadNow(() -> storage.loadByName(name, true, playerInfoFactory));
+	}
+
+	@Override
+	public T createUnknown(UUID uuid) {
+		return createPlayerInfo(uuid, null);
+	}
+
+	@Override
+	public T createFromPlayer(Player player) {
+		return createPlayerInfo(player.getUniqueId(), player.getName());
+	}
+
+	/**
+	 * Updates player in cache and stores it asynchronously (if cached name is different)
+	 * @param player player
+	 * @return future that completes once player is stored
+	 */
+	public CompletableFuture<Void> update(Player player) {
+		return update(player.getUniqueId(), player.getName());
+	}
+
+	/**
+	 * Updates player in cache and stores it asynchronously (if cached name is different)
+	 * @param uuid uuid
+	 * @param name name
+	 * @return future that completes once player is stored
+	 */
+	public CompletableFuture<Void> update(UUID uuid, String name) {
+		T cplayer = byUUID.get(uuid);
+		if (cplayer != null) {
+			String cname = cplayer.getName();
+			if (name.equals(cname)) {
+				return CompletableFuture.completedFuture(null);
+			}
+			if (cname != null) {
+				byName.remove(cname.toLowerCase(Locale.ROOT));
+			}
+		}
+		cache(createPlayerInfo(uuid, name));
+		return CompletableFuture.runAsync(() -> {
+			try {
+				storage.store(uuid, name);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}, executor);
+	}
+
+	/**
+	 * Removes all cached players
+	 */
+	public void invalidate() {
+		byUUID.clear();
+		byName.clear();
+	}
+
+	protected T getCachedByName(String name, boolean ignoreCase) {
+		T player = byName.get(name.toLowerCase(Locale.ROOT));
+		if ((player != null) && (ignoreCase ? name.equalsIgnoreCase(player.getName()) : name.equals(player.getName()))) {
+			return player;
+		}
+		return null;
+	}
+
+	protected void cache(T player) {
+		byUUID.put(player.getUUID(), player);
+		if (player.getName() != null) {
+			byName.put(player.getName().toLowerCase(Locale.ROOT), player);
+		}
+	}
+
+	/*
+	 * Loads player using executor, shares load with concurrent callers of the same key
+	 * Returned future completes on the main thread
+	 */
+	protected <K> CompletableFuture<T> load(ConcurrentHashMap<K, CompletableFuture<T>> loads, K key, StorageLoad<T> load) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		CompletableFuture<T> syncFuture = MiscBukkitUtils.completeSync(mainThreadExecutor, future);
+		CompletableFuture<T> loading = loads.putIfAbsent(key, syncFuture);
+		if (loading != null) {
+			return loading;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					T player = load.load();
+					if (player != null) {
+						cache(player);
+					}
+					future.complete(player);
+				} catch (Throwable t) {
+					future.completeExceptionally(t);
+				} finally {
+					loads.remove(key, syncFuture);
+				}
+			});
+		} catch (RuntimeException e) {
+			loads.remove(key, syncFuture);
+			future.completeExceptionally(e);
+		}
+		return syncFuture;
+	}
+
+	protected T loadNow(StorageLoad<T> load) {
+		try {
+			T player = load.load();
+			if (player != null) {
+				cache(player);
+			}
+			return player;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Creates player info view
+	 * @param uuid uuid
+	 * @param name name or null if unknown
+	 * @return player info
+	 */
+	protected abstract T createPlayerInfo(UUID uuid, String name);
+
+	@FunctionalInterface
+	protected static interface StorageLoad<T> {
+
+		public T load() throws IOException;
+
+	}
+
+}
@@ -0,0 +1,111 @@
+package org.hurricanegames.commandlib.providers.playerinfo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Reference file backed player info storage<br>
+ * Players are appended to the file as records of uuid most significant bits (long), uuid least significant bits (long), name (modified utf-8), later records replace earlier ones<br>
+ * Every lookup reads the whole file, so this is only suitable for testing and small servers, {@link #compact()} removes replaced records
+ */
+public class FilePlayerInfoStorage implements PlayerInfoStorage {
+
+	protected final Path file;
+
+	public FilePlayerInfoStorage(Path file) {
+		this.file = file;
+	}
+
+	@Override
+	public <R> R loadByUUID(UUID uuid, BiFunction<UUID, String, R> factory) throws IOException {
+		String name = readPlayers().get(uuid);
+		return name != null ? factory.apply(uuid, name) : null;
+	}
+
+	/*
+	 * Players are iterated in last store order, so the most recently stored one wins among names that match ignoring case
+	 */
+	@Override
+	public <R> R loadByName(String name, boolean ignoreCase, BiFunction<UUID, String, R> factory) throws IOException {
+		Map.Entry<UUID, String> found = null;
+		for (Map.Entry<UUID, String> entry : readPlayers().entrySet()) {
+			String pname = entry.getValue();
+			if (pname.equals(name)) {
+				return factory.apply(entry.getKey(), pname);
+			}
+			if (ignoreCase && pname.equalsIgnoreCase(name)) {
+				found = entry;
+			}
+		}
+		return found != null ? factory.apply(found.getKey(), found.getValue()) : null;
+	}
+
+	@Override
+	public synchronized void store(UUID uuid, String name) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+			file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND
+		)))) {
+			writeRecord(out, uuid, name);
+		}
+	}
+
+	/**
+	 * Rewrites file leaving only the latest record of each player
+	 * @throws IOException if file can't be read or written
+	 */
+	public synchronized void compact() throws IOException {
+		Map<UUID, String> players = readPlayers();
+		Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+			for (Map.Entry<UUID, String> entry : players.entrySet()) {
+				writeRecord(out, entry.getKey(), entry.getValue());
+			}
+		}
+		Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/*
+	 * Synchronized with store, so partially appended record is never read
+	 */
+	protected synchronized Map<UUID, String> readPlayers() throws IOException {
+		Map<UUID, String> players = new LinkedHashMap<>();
+		if (!Files.exists(file)) {
+			return players;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			while (true) {
+				long most;
+				try {
+					most = in.readLong();
+				} catch (EOFException e) {
+					break;
+				}
+				UUID uuid = new UUID(most, in.readLong());
+				String name = in.readUTF();
+				//keep players in last store order
+				players.remove(uuid);
+				players.put(uuid, name);
+			}
+		}
+		return players;
+	}
+
+	protected static void writeRecord(DataOutputStream out, UUID uuid, String name) throws IOException {
+		out.writeLong(uuid.getMostSignificantBits());
+		out.writeLong(uuid.getLeastSignificantBits());
+		out.writeUTF(name);
+	}
+
+}
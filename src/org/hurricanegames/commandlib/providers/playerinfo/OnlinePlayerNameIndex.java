@@ -0,0 +1,86 @@
+package org.hurricanegames.commandlib.providers.playerinfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+import org.hurricanegames.commandlib.utils.NameUtils;
+
+/**
+ * Sorted index of online player names, updated from join/quit events<br>
+ * Can be read concurrently, name prefix queries are range scans (names are ordered ignoring case, so both case sensitive and insensitive queries are supported)
+ */
+public class OnlinePlayerNameIndex implements Listener {
+
+	protected final Plugin plugin;
+	public OnlinePlayerNameIndex(Plugin plugin) {
+		this.plugin = plugin;
+	}
+
+	protected final ConcurrentSkipListMap<String, Player> byName = new ConcurrentSkipListMap<>(NameUtils.NAME_ORDER);
+
+	protected boolean init = false;
+	public OnlinePlayerNameIndex init() {
+		if (init) {
+			throw new IllegalArgumentException("Already initialized");
+		}
+		init = true;
+		Bukkit.getPluginManager().registerEvents(this, plugin);
+		Bukkit.getOnlinePlayers().forEach(player -> byName.put(player.getName(), player));
+		return this;
+	}
+
+	@EventHandler(priority = EventPriority.LOWEST)
+	public void onPlayerJoin(PlayerJoinEvent event) {
+		Player player = event.getPlayer();
+		byName.put(player.getName(), player);
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onPlayerQuit(PlayerQuitEvent event) {
+		Player player = event.getPlayer();
+		byName.remove(player.getName(), player);
+	}
+
+	public int size() {
+		return byName.size();
+	}
+
+	/**
+	 * Passes online players which names start with provided prefix (in name order) to action until it returns false
+	 * @param prefix name prefix
+	 * @param ignoreCase true if prefix should be matched ignoring case
+	 * @param action player action, returns false to stop iteration
+	 */
+	public void forEachStartingWith(String prefix, boolean ignoreCase, Predicate<Player> action) {
+		NameUtils.forEachStartingWith(byName, prefix, ignoreCase, action);
+	}
+
+	/**
+	 * Returns names of online players which names start with provided prefix (in name order)
+	 * @param prefix name prefix
+	 * @param ignoreCase true if prefix should be matched ignoring case
+	 * @param limit max names count
+	 * @return names
+	 */
+	public List<String> getNamesStartingWith(String prefix, boolean ignoreCase, int limit) {
+		List<String> names = new ArrayList<>();
+		if (limit > 0) {
+			forEachStartingWith(prefix, ignoreCase, player -> {
+				names.add(player.getName());
+				return names.size() < limit;
+			});
+		}
+		return names;
+	}
+
+}
@@ -1,7 +1,12 @@
 package org.hurricanegames.commandlib.providers.playerinfo;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Predicate;
 
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 public interface PlayerInfoProvider<T extends PlayerInfo> {
@@ -10,8 +15,77 @@ public interface PlayerInfoProvider<T extends PlayerInfo> {
 
 	public T getByName(String name);
 
+	/**
+	 * Returns player by name ignoring case<br>
+	 * Default implementation uses {@link #getByName(String)}
+	 * @param name name
+	 * @return player or null if not found
+	 */
+	public default T getByNameIgnoreCase(String name) {
+		return getByName(name);
+	}
+
+	/**
+	 * Returns players by uuids<br>
+	 * Default implementation uses {@link #getByUUID(UUID)} for each uuid
+	 * @param uuids uuids
+	 * @return players by uuid (in uuids iteration order), players that are not found are absent
+	 */
+	public default Map<UUID, T> getByUUIDs(Collection<UUID> uuids) {
+		Map<UUID, T> players = new LinkedHashMap<>();
+		for (UUID uuid : uuids) {
+			T player = getByUUID(uuid);
+			if (player != null) {
+				players.put(uuid, player);
+			}
+		}
+		return players;
+	}
+
+	/**
+	 * Returns players by names<br>
+	 * Default implementation uses {@link #getByName(String)} for each name
+	 * @param names names
+	 * @return players by name (in names iteration order), players that are not found are absent
+	 */
+	public default Map<String, T> getByNames(Collection<String> names) {
+		Map<String, T> players = new LinkedHashMap<>();
+		for (String name : names) {
+			T player = getByName(name);
+			if (player != null) {
+				players.put(name, player);
+			}
+		}
+		return players;
+	}
+
 	public T createUnknown(UUID uuid);
 
 	public T createFromPlayer(Player player);
 
+	/**
+	 * Passes known players which names start with provided prefix to action until it returns false<br>
+	 * Default implementation iterates online players
+	 * @param prefix name prefix
+	 * @param ignoreCase true if prefix should be matched ignoring case
+	 * @param action player action, returns false to stop iteration
+	 */
+	public default void forEachStartingWith(String prefix, boolean ignoreCase, Predicate<? super T> action) {
+		int prefixLength = prefix.length();
+		for (Player player : Bukkit.getOnlinePlayers()) {
+			if (player.getName().regionMatches(ignoreCase, 0, prefix, 0, prefixLength) && !action.test(createFromPlayer(player))) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns if {@link #forEachStartingWith(String, boolean, Predicate)} can be called off the main thread<br>
+	 * Default implementation iterates online players, so it is not thread-safe
+	 * @return true if name prefix iteration is thread-safe
+	 */
+	public default boolean isForEachStartingWithThreadSafe() {
+		return false;
+	}
+
 }
@@ -0,0 +1,290 @@
+package org.hurricanegames.commandlib.providers.playerinfo;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.stream.IntStream;
+
+import org.hurricanegames.commandlib.utils.NameUtils;
+
+/**
+ * Read-only memory mapped snapshot of player uuids and names<br>
+ * <br>
+ * File format (big endian):<br>
+ * header: magic (int), version (int), creation time millis (long), records count (int), names size (int)<br>
+ * records sorted by uuid: uuid most significant bits (long), uuid least significant bits (long), name offset (int), name length (int)<br>
+ * name index: record indexes sorted by name (see {@link NameUtils#NAME_ORDER}) (int each)<br>
+ * names: utf-8 bytes<br>
+ * <br>
+ * Lookups are binary searches over mapped file and can be done concurrently<br>
+ * Only header is validated on open (so records are not read until needed), name offsets and name index entries are bounds checked on read, and reading out of bounds record throws {@link IllegalStateException}
+ */
+public class PlayerInfoSnapshot {
+
+	public static final int MAGIC = 0x48475049;
+	public static final int VERSION = 1;
+
+	protected static final int HEADER_SIZE = 24;
+	protected static final int RECORD_SIZE = 24;
+
+	protected final MappedByteBuffer buffer;
+	protected final long creationTime;
+	protected final int count;
+	protected final int nameIndexOffset;
+	protected final int namesOffset;
+	protected final int namesSize;
+
+	protected PlayerInfoSnapshot(MappedByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		if (buffer.capacity() < HEADER_SIZE) {
+			throw new IOException("Snapshot is truncated");
+		}
+		if (buffer.getInt(0) != MAGIC) {
+			throw new IOException("Not a player info snapshot");
+		}
+		int version = buffer.getInt(4);
+		if (version != VERSION) {
+			throw new IOException("Unsupported snapshot version " + version);
+		}
+		this.creationTime = buffer.getLong(8);
+		this.count = buffer.getInt(16);
+		this.namesSize = buffer.getInt(20);
+		if ((count < 0) || (namesSize < 0) || ((HEADER_SIZE + ((long) count * (RECORD_SIZE + 4)) + namesSize) != buffer.capacity())) {
+			throw new IOException("Snapshot size doesn't match header");
+		}
+		this.nameIndexOffset = HEADER_SIZE + (count * RECORD_SIZE);
+		this.namesOffset = nameIndexOffset + (count * 4);
+	}
+
+	/**
+	 * Opens and maps snapshot file
+	 * @param file snapshot file
+	 * @return snapshot
+	 * @throws IOException if file can't be read or is not a valid snapshot
+	 */
+	public static PlayerInfoSnapshot open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Snapshot is too large");
+			}
+			return new PlayerInfoSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	public int size() {
+		return count;
+	}
+
+	public long getCreationTime() {
+		return creationTime;
+	}
+
+	/**
+	 * Returns player by uuid
+	 * @param <R> player type
+	 * @param uuid uuid
+	 * @param factory player factory, called with uuid and name
+	 * @return player or null if not found
+	 */
+	public <R> R getByUUID(UUID uuid, BiFunction<UUID, String, R> factory) {
+		long most = uuid.getMostSignificantBits();
+		long least = uuid.getLeastSignificantBits();
+		int low = 0;
+		int high = count - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int recordOffset = HEADER_SIZE + (mid * RECORD_SIZE);
+			int compare = Long.compare(buffer.getLong(recordOffset), most);
+			if (compare == 0) {
+				compare = Long.compare(buffer.getLong(recordOffset + 8), least);
+			}
+			if (compare < 0) {
+				low = mid + 1;
+			} else if (compare > 0) {
+				high = mid - 1;
+			} else {
+				return factory.apply(uuid, getName(mid));
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns player by name<br>
+	 * If multiple names match ignoring case, exact-case name is preferred, otherwise the first one in name order is used
+	 * @param <R> player type
+	 * @param name name
+	 * @param ignoreCase true if name should be matched ignoring case
+	 * @param factory player factory, called with uuid and stored name
+	 * @return player or null if not found
+	 */
+	public <R> R getByName(String name, boolean ignoreCase, BiFunction<UUID, String, R> factory) {
+		//lower bound of names equal ignoring case, all case variants follow it
+		int low = 0;
+		int high = count;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (String.CASE_INSENSITIVE_ORDER.compare(getName(getNameIndexRecord(mid)), name) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		int found = -1;
+		for (int index = low; index < count; index++) {
+			int record = getNameIndexRecord(index);
+			String rname = getName(record);
+			if (!rname.equalsIgnoreCase(name)) {
+				break;
+			}
+			if (rname.equals(name)) {
+				return factory.apply(getUUID(record), rname);
+			}
+			if (ignoreCase && (found == -1)) {
+				found = record;
+			}
+		}
+		return found != -1 ? factory.apply(getUUID(found), getName(found)) : null;
+	}
+
+	/**
+	 * Returns player by record index (records are in uuid order)
+	 * @param <R> player type
+	 * @param index record index, from 0 to {@link #size()} exclusive
+	 * @param factory player factory, called with uuid and name
+	 * @return player
+	 */
+	public <R> R get(int index, BiFunction<UUID, String, R> factory) {
+		if ((index < 0) || (index >= count)) {
+			throw new IndexOutOfBoundsException("Record index " + index + " is out of bounds");
+		}
+		return factory.apply(getUUID(index), getName(index));
+	}
+
+	/**
+	 * Passes uuids and names of all players (in uuid order) to action until it returns false
+	 * @param action player action, returns false to stop iteration
+	 */
+	public void forEach(BiPredicate<UUID, String> action) {
+		for (int record = 0; record < count; record++) {
+			if (!action.test(getUUID(record), getName(record))) {
+				return;
+			}
+		}
+	}
+
+	protected UUID getUUID(int record) {
+		int recordOffset = HEADER_SIZE + (record * RECORD_SIZE);
+		return new UUID(buffer.getLong(recordOffset), buffer.getLong(recordOffset + 8));
+	}
+
+	/*
+	 * Uses only absolute reads, so concurrent lookups don't interfere
+	 */
+	protected String getName(int record) {
+		int recordOffset = HEADER_SIZE + (record * RECORD_SIZE);
+		int nameOffset = buffer.getInt(recordOffset + 16);
+		int length = buffer.getInt(recordOffset + 20);
+		if ((nameOffset < 0) || (length < 0) || (nameOffset > (namesSize - length))) {
+			throw new IllegalStateException("Snapshot record " + record + " name is out of bounds");
+		}
+		int offset = namesOffset + nameOffset;
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = buffer.get(offset + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	protected int getNameIndexRecord(int index) {
+		int record = buffer.getInt(nameIndexOffset + (index * 4));
+		if ((record < 0) || (record >= count)) {
+			throw new IllegalStateException("Snapshot name index entry " + index + " is out of bounds");
+		}
+		return record;
+	}
+
+	/**
+	 * Collects players and writes snapshot file<br>
+	 * Players without name are skipped
+	 */
+	public static class Writer {
+
+		protected final List<UUID> uuids = new ArrayList<>();
+		protected final List<String> names = new ArrayList<>();
+
+		public Writer add(UUID uuid, String name) {
+			if (name != null) {
+				uuids.add(uuid);
+				names.add(name);
+			}
+			return this;
+		}
+
+		/**
+		 * Writes snapshot to temp file and then moves it to the target file, so partially written snapshot is never read
+		 * @param file snapshot file
+		 * @throws IOException if write fails
+		 */
+		public void write(Path file) throws IOException {
+			int count = uuids.size();
+			Comparator<Integer> uuidOrder = (r1, r2) -> {
+				UUID uuid1 = uuids.get(r1);
+				UUID uuid2 = uuids.get(r2);
+				int compare = Long.compare(uuid1.getMostSignificantBits(), uuid2.getMostSignificantBits());
+				return compare != 0 ? compare : Long.compare(uuid1.getLeastSignificantBits(), uuid2.getLeastSignificantBits());
+			};
+			int[] records = IntStream.range(0, count).boxed().sorted(uuidOrder).mapToInt(Integer::intValue).toArray();
+			int[] recordsByName = IntStream.range(0, count).boxed()
+				.sorted(Comparator.comparing(record -> names.get(records[record]), NameUtils.NAME_ORDER))
+				.mapToInt(Integer::intValue).toArray();
+
+			byte[][] namesBytes = new byte[count][];
+			int namesSize = 0;
+			for (int record = 0; record < count; record++) {
+				namesBytes[record] = names.get(records[record]).getBytes(StandardCharsets.UTF_8);
+				namesSize += namesBytes[record].length;
+			}
+
+			Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), 64 * 1024))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(System.currentTimeMillis());
+				out.writeInt(count);
+				out.writeInt(namesSize);
+				int nameOffset = 0;
+				for (int record = 0; record < count; record++) {
+					UUID uuid = uuids.get(records[record]);
+					out.writeLong(uuid.getMostSignificantBits());
+					out.writeLong(uuid.getLeastSignificantBits());
+					out.writeInt(nameOffset);
+					out.writeInt(namesBytes[record].length);
+					nameOffset += namesBytes[record].length;
+				}
+				for (int record : recordsByName) {
+					out.writeInt(record);
+				}
+				for (byte[] nameBytes : namesBytes) {
+					out.write(nameBytes);
+				}
+			}
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+
+	}
+
+}
@@ -0,0 +1,43 @@
+package org.hurricanegames.commandlib.providers.playerinfo;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Persistent storage of player uuids and names<br>
+ * Methods do blocking I/O, so they are called off the main thread (see {@link ExecutorAsyncPlayerInfoProvider}), implementations should be thread-safe
+ */
+public interface PlayerInfoStorage {
+
+	/**
+	 * Loads player by uuid
+	 * @param <R> player type
+	 * @param uuid uuid
+	 * @param factory player factory, called with uuid and name
+	 * @return player or null if not found
+	 * @throws IOException if storage can't be read
+	 */
+	public <R> R loadByUUID(UUID uuid, BiFunction<UUID, String, R> factory) throws IOException;
+
+	/**
+	 * Loads player by name<br>
+	 * If multiple names match ignoring case, exact-case name should be preferred
+	 * @param <R> player type
+	 * @param name name
+	 * @param ignoreCase true if name should be matched ignoring case
+	 * @param factory player factory, called with uuid and stored name
+	 * @return player or null if not found
+	 * @throws IOException if storage can't be read
+	 */
+	public <R> R loadByName(String name, boolean ignoreCase, BiFunction<UUID, String, R> factory) throws IOException;
+
+	/**
+	 * Stores player name, replacing previous name of the player
+	 * @param uuid uuid
+	 * @param name name
+	 * @throws IOException if storage can't be written
+	 */
+	public void store(UUID uuid, String name) throws IOException;
+
+}
@@ -0,0 +1,35 @@
+package org.hurricanegames.commandlib.utils;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Main thread executor that schedules tasks using bukkit scheduler (tasks run on the next tick)
+ */
+public class BukkitMainThreadExecutor implements MainThreadExecutor {
+
+	protected final Plugin plugin;
+	public BukkitMainThreadExecutor(Plugin plugin) {
+		this.plugin = plugin;
+	}
+
+	@Override
+	public boolean isMainThread() {
+		return Bukkit.isPrimaryThread();
+	}
+
+	/*
+	 * Bukkit scheduler throws if plugin is disabled, that is reported as rejection
+	 */
+	@Override
+	public void execute(Runnable task) {
+		try {
+			Bukkit.getScheduler().runTask(plugin, task);
+		} catch (RuntimeException e) {
+			throw new RejectedExecutionException("Unable to schedule task for plugin " + plugin, e);
+		}
+	}
+
+}
@@ -0,0 +1,212 @@
+package org.hurricanegames.commandlib.utils;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Hash map from names to values that supports both exact and case-insensitive lookups without allocating<br>
+ * Names are hashed and compared ignoring case over the original chars (the same way as {@link String#equalsIgnoreCase(String)}), values are still stored per exact name<br>
+ * When multiple names match ignoring case, exact-case name is preferred, otherwise the most recently put one is returned<br>
+ * <br>
+ * Reads don't lock and can run concurrently with modifications (bucket chains are immutable and replaced as a whole), modifications are serialized
+ * @param <V> value type
+ */
+public class CaseInsensitiveNameMap<V> {
+
+	protected static final int INITIAL_CAPACITY = 16;
+
+	protected volatile AtomicReferenceArray<Entry<V>> table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+	protected volatile int size;
+	protected long sequence;
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns value by exact name
+	 * @param name name
+	 * @return value or null if not found
+	 */
+	public V get(String name) {
+		int hash = hash(name);
+		AtomicReferenceArray<Entry<V>> table = this.table;
+		for (Entry<V> entry = table.get(hash & (table.length() - 1)); entry != null; entry = entry.next) {
+			if ((entry.hash == hash) && entry.name.equals(name)) {
+				return entry.value;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns value by name ignoring case<br>
+	 * If multiple names match, value of the exact-case name is returned, otherwise value of the most recently put name is returned
+	 * @param name name
+	 * @return value or null if not found
+	 */
+	public V getIgnoreCase(String name) {
+		int hash = hash(name);
+		int length = name.length();
+		AtomicReferenceArray<Entry<V>> table = this.table;
+		Entry<V> found = null;
+		for (Entry<V> entry = table.get(hash & (table.length() - 1)); entry != null; entry = entry.next) {
+			if ((entry.hash == hash) && (entry.name.length() == length) && entry.name.regionMatches(true, 0, name, 0, length)) {
+				if (entry.name.equals(name)) {
+					return entry.value;
+				}
+				if ((found == null) || (entry.sequence > found.sequence)) {
+					found = entry;
+				}
+			}
+		}
+		return found != null ? found.value : null;
+	}
+
+	/**
+	 * Puts value by exact name, replacing value of the same exact name
+	 * @param name name
+	 * @param value value
+	 * @return previous value or null
+	 */
+	public synchronized V put(String name, V value) {
+		return put(name, value, true);
+	}
+
+	/**
+	 * Puts value by exact name if there is no value for the same exact name
+	 * @param name name
+	 * @param value value
+	 * @return current value or null if value was put
+	 */
+	public synchronized V putIfAbsent(String name, V value) {
+		return put(name, value, false);
+	}
+
+	protected V put(String name, V value, boolean replace) {
+		int hash = hash(name);
+		AtomicReferenceArray<Entry<V>> table = this.table;
+		int bucket = hash & (table.length() - 1);
+		Entry<V> head = table.get(bucket);
+		Entry<V> previous = find(head, hash, name);
+		if (previous != null) {
+			if (!replace) {
+				return previous.value;
+			}
+			head = without(head, previous);
+		}
+		table.set(bucket, new Entry<>(name, hash, value, sequence++, head));
+		if (previous == null) {
+			size++;
+			if (size > ((table.length() >> 2) * 3)) {
+				resize(table);
+			}
+			return null;
+		}
+		return previous.value;
+	}
+
+	/**
+	 * Removes value by exact name
+	 * @param name name
+	 * @return removed value or null
+	 */
+	public synchronized V remove(String name) {
+		return remove(name, null, false);
+	}
+
+	/**
+	 * Removes value by exact name only if it is the same as provided one
+	 * @param name name
+	 * @param value value
+	 * @return true if value was removed
+	 */
+	public synchronized boolean remove(String name, V value) {
+		return remove(name, value, true) != null;
+	}
+
+	protected V remove(String name, V value, boolean checkValue) {
+		int hash = hash(name);
+		AtomicReferenceArray<Entry<V>> table = this.table;
+		int bucket = hash & (table.length() - 1);
+		Entry<V> head = table.get(bucket);
+		Entry<V> entry = find(head, hash, name);
+		if ((entry == null) || (checkValue && !Objects.equals(entry.value, value))) {
+			return null;
+		}
+		table.set(bucket, without(head, entry));
+		size--;
+		return entry.value;
+	}
+
+	public synchronized void clear() {
+		table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+		size = 0;
+	}
+
+	/*
+	 * New table is fully built before publishing, readers of the old table still see all entries
+	 */
+	protected void resize(AtomicReferenceArray<Entry<V>> oldTable) {
+		AtomicReferenceArray<Entry<V>> newTable = new AtomicReferenceArray<>(oldTable.length() << 1);
+		int mask = newTable.length() - 1;
+		for (int bucket = 0; bucket < oldTable.length(); bucket++) {
+			for (Entry<V> entry = oldTable.get(bucket); entry != null; entry = entry.next) {
+				int newBucket = entry.hash & mask;
+				newTable.set(newBucket, new Entry<>(entry.name, entry.hash, entry.value, entry.sequence, newTable.get(newBucket)));
+			}
+		}
+		table = newTable;
+	}
+
+	protected static <V> Entry<V> find(Entry<V> head, int hash, String name) {
+		for (Entry<V> entry = head; entry != null; entry = entry.next) {
+			if ((entry.hash == hash) && entry.name.equals(name)) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	/*
+	 * Chains are immutable, so entries before the removed one are copied
+	 */
+	protected static <V> Entry<V> without(Entry<V> head, Entry<V> removed) {
+		if (head == removed) {
+			return removed.next;
+		}
+		return new Entry<>(head.name, head.hash, head.value, head.sequence, without(head.next, removed));
+	}
+
+	/**
+	 * Computes hash of the name ignoring case
+	 * @param name name
+	 * @return hash
+	 */
+	public static int hash(String name) {
+		int hash = 0;
+		for (int i = 0; i < name.length(); i++) {
+			hash = (31 * hash) + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+		}
+		return hash ^ (hash >>> 16);
+	}
+
+	protected static final class Entry<V> {
+
+		protected final String name;
+		protected final int hash;
+		protected final V value;
+		protected final long sequence;
+		protected final Entry<V> next;
+
+		protected Entry(String name, int hash, V value, long sequence, Entry<V> next) {
+			this.name = name;
+			this.hash = hash;
+			this.value = value;
+			this.sequence = sequence;
+			this.next = next;
+		}
+
+	}
+
+}
@@ -0,0 +1,82 @@
+package org.hurricanegames.commandlib.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache that evicts least recently used entries when full and expires entries after time to live<br>
+ * Thread-safe (all operations are synchronized)
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class ExpiringLruCache<K, V> {
+
+	protected final int maxSize;
+	protected final long ttlNanos;
+	protected final LinkedHashMap<K, CacheEntry<V>> entries;
+
+	/**
+	 * Creates cache
+	 * @param maxSize max entries count
+	 * @param ttl entry time to live
+	 * @param ttlUnit entry time to live unit
+	 */
+	public ExpiringLruCache(int maxSize, long ttl, TimeUnit ttlUnit) {
+		this.maxSize = maxSize;
+		this.ttlNanos = ttlUnit.toNanos(ttl);
+		this.entries = new LinkedHashMap<K, CacheEntry<V>>(16, 0.75F, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+				return size() > ExpiringLruCache.this.maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Returns value
+	 * @param key key
+	 * @return value or null if not present or expired
+	 */
+	public synchronized V get(K key) {
+		CacheEntry<V> entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if ((System.nanoTime() - entry.time) > ttlNanos) {
+			entries.remove(key);
+			return null;
+		}
+		return entry.value;
+	}
+
+	public synchronized void put(K key, V value) {
+		entries.put(key, new CacheEntry<>(value, System.nanoTime()));
+	}
+
+	public synchronized void remove(K key) {
+		entries.remove(key);
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	protected static final class CacheEntry<V> {
+
+		protected final V value;
+		protected final long time;
+
+		protected CacheEntry(V value, long time) {
+			this.value = value;
+			this.time = time;
+		}
+
+	}
+
+}
@@ -0,0 +1,83 @@
+package org.hurricanegames.commandlib.utils;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class FutureUtils {
+
+	private static final ScheduledExecutorService timeoutScheduler = createTimeoutScheduler();
+
+	private static ScheduledExecutorService createTimeoutScheduler() {
+		ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "HurricaneGamesCommandLib future timeout scheduler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.setRemoveOnCancelPolicy(true);
+		return scheduler;
+	}
+
+	/**
+	 * Returns future that completes with the result of provided future, or with provided value if the provided future fails or doesn't complete in time<br>
+	 * (Basically {@code completeOnTimeout} + {@code exceptionally}, which are not available on java 8)
+	 * @param <T> value type
+	 * @param future future
+	 * @param fallbackValue value to use on timeout or fail
+	 * @param timeout timeout
+	 * @param unit timeout unit
+	 * @return future
+	 */
+	public static <T> CompletableFuture<T> withFallback(CompletableFuture<T> future, T fallbackValue, long timeout, TimeUnit unit) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		if (!future.isDone()) {
+			ScheduledFuture<?> timeoutTask = timeoutScheduler.schedule(() -> result.complete(fallbackValue), timeout, unit);
+			result.whenComplete((value, throwable) -> timeoutTask.cancel(false));
+		}
+		future.whenComplete((value, throwable) -> result.complete(throwable == null ? value : fallbackValue));
+		return result;
+	}
+
+	/**
+	 * Returns value of already completed future<br>
+	 * Unlike {@link CompletableFuture#join()}, failure cause is rethrown as is (if it is unchecked), so callers can catch specific exceptions
+	 * @param <T> value type
+	 * @param future completed future
+	 * @return value
+	 */
+	public static <T> T getDone(CompletableFuture<T> future) {
+		if (!future.isDone()) {
+			throw new IllegalStateException("Future is not completed");
+		}
+		try {
+			return future.join();
+		} catch (CompletionException | CancellationException e) {
+			throw rethrow(e);
+		}
+	}
+
+	/**
+	 * Unwraps {@link CompletionException} and {@link ExecutionException} and rethrows their cause<br>
+	 * Unchecked causes are rethrown as is, checked ones are wrapped in {@link CompletionException}
+	 * @param throwable future failure
+	 * @return never returns, return type allows using {@code throw rethrow(throwable)}
+	 */
+	public static RuntimeException rethrow(Throwable throwable) {
+		while (((throwable instanceof CompletionException) || (throwable instanceof ExecutionException)) && (throwable.getCause() != null)) {
+			throwable = throwable.getCause();
+		}
+		if (throwable instanceof RuntimeException) {
+			throw (RuntimeException) throwable;
+		}
+		if (throwable instanceof Error) {
+			throw (Error) throwable;
+		}
+		throw new CompletionException(throwable);
+	}
+
+}
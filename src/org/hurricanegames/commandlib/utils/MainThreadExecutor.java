@@ -0,0 +1,26 @@
+package org.hurricanegames.commandlib.utils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executor that runs tasks on the server main thread<br>
+ * Default implementation is {@link BukkitMainThreadExecutor}, other implementations can be used to run tasks on a different thread (for example in tests)
+ */
+public interface MainThreadExecutor extends Executor {
+
+	/**
+	 * Returns if calling thread is the main thread
+	 * @return true if calling thread is the main thread
+	 */
+	public boolean isMainThread();
+
+	/**
+	 * Schedules task to run on the main thread
+	 * @param task task
+	 * @throws RejectedExecutionException if task can't be scheduled (for example if plugin is disabled)
+	 */
+	@Override
+	public void execute(Runnable task);
+
+}
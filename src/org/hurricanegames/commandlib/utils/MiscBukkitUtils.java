@@ -3,11 +3,15 @@ package org.hurricanegames.commandlib.utils;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.bukkit.ChatColor;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.plugin.Plugin;
 
 public class MiscBukkitUtils {
 
@@ -19,6 +23,85 @@ public class MiscBukkitUtils {
 		return list.stream().map(MiscBukkitUtils::colorize).collect(Collectors.toCollection(ArrayList::new));
 	}
 
+	/**
+	 * Calls supplier on the main thread using bukkit scheduler (see {@link #supplySync(MainThreadExecutor, Supplier)})
+	 * @param <T> value type
+	 * @param plugin plugin that schedules the task
+	 * @param supplier supplier
+	 * @return future of supplier result
+	 */
+	public static <T> CompletableFuture<T> supplySync(Plugin plugin, Supplier<T> supplier) {
+		return supplySync(new BukkitMainThreadExecutor(plugin), supplier);
+	}
+
+	/**
+	 * Calls supplier on the main thread<br>
+	 * If called from the main thread, supplier is called immediately, otherwise it is scheduled to run on the main thread<br>
+	 * If task can't be scheduled, returned future completes exceptionally
+	 * @param <T> value type
+	 * @param mainThreadExecutor main thread executor
+	 * @param supplier supplier
+	 * @return future of supplier result
+	 */
+	public static <T> CompletableFuture<T> supplySync(MainThreadExecutor mainThreadExecutor, Supplier<T> supplier) {
+		CompletableFuture<T> future = new CompletableFuture<>();
+		runSync(mainThreadExecutor, () -> {
+			try {
+				future.complete(supplier.get());
+			} catch (Throwable t) {
+				future.completeExceptionally(t);
+			}
+		}, future);
+		return future;
+	}
+
+	/**
+	 * Returns future that completes on the main thread with the result of provided future using bukkit scheduler (see {@link #completeSync(MainThreadExecutor, CompletableFuture)})
+	 * @param <T> value type
+	 * @param plugin plugin that schedules the task
+	 * @param future future
+	 * @return future that completes on the main thread
+	 */
+	public static <T> CompletableFuture<T> completeSync(Plugin plugin, CompletableFuture<T> future) {
+		return completeSync(new BukkitMainThreadExecutor(plugin), future);
+	}
+
+	/**
+	 * Returns future that completes on the main thread with the result of provided future<br>
+	 * If provided future completes on the main thread, returned future is completed immediately<br>
+	 * If completion can't be scheduled, returned future completes exceptionally (on the thread that completed provided future)
+	 * @param <T> value type
+	 * @param mainThreadExecutor main thread executor
+	 * @param future future
+	 * @return future that completes on the main thread
+	 */
+	public static <T> CompletableFuture<T> completeSync(MainThreadExecutor mainThreadExecutor, CompletableFuture<T> future) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		future.whenComplete((value, throwable) -> runSync(mainThreadExecutor, () -> {
+			if (throwable == null) {
+				result.complete(value);
+			} else {
+				result.completeExceptionally(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+			}
+		}, result));
+		return result;
+	}
+
+	/*
+	 * Exceptions thrown from whenComplete actions are swallowed by CompletableFuture, so scheduling failure completes the future instead
+	 */
+	private static void runSync(MainThreadExecutor mainThreadExecutor, Runnable task, CompletableFuture<?> future) {
+		try {
+			if (mainThreadExecutor.isMainThread()) {
+				task.run();
+			} else {
+				mainThreadExecutor.execute(task);
+			}
+		} catch (Throwable t) {
+			future.completeExceptionally(t);
+		}
+	}
+
 	public static ConfigurationSection createSection(Map<?, ?> map) {
 		MemoryConfiguration configuration = new MemoryConfiguration();
 		return configuration.createSection("root", map);
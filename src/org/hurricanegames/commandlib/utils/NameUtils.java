@@ -0,0 +1,42 @@
+package org.hurricanegames.commandlib.utils;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.function.Predicate;
+
+public class NameUtils {
+
+	/**
+	 * Orders names ignoring case first, so names with the same prefix (ignoring case) are contiguous<br>
+	 * Then orders names using natural order, so names that differ only in case are still distinct
+	 */
+	public static final Comparator<String> NAME_ORDER = String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+	/**
+	 * Passes values which names start with provided prefix (in name order) to action until it returns false
+	 * @param <V> value type
+	 * @param byName map ordered by {@link #NAME_ORDER}
+	 * @param prefix name prefix
+	 * @param ignoreCase true if prefix should be matched ignoring case
+	 * @param action value action, returns false to stop iteration
+	 */
+	public static <V> void forEachStartingWith(NavigableMap<String, V> byName, String prefix, boolean ignoreCase, Predicate<? super V> action) {
+		int prefixLength = prefix.length();
+		//uppercase variant of prefix is the first one in name order among all prefix case variants
+		for (Map.Entry<String, V> entry : byName.tailMap(prefix.toUpperCase(Locale.ROOT), true).entrySet()) {
+			String name = entry.getKey();
+			if (!name.regionMatches(true, 0, prefix, 0, prefixLength)) {
+				return;
+			}
+			if (!ignoreCase && !name.startsWith(prefix)) {
+				continue;
+			}
+			if (!action.test(entry.getValue())) {
+				return;
+			}
+		}
+	}
+
+}
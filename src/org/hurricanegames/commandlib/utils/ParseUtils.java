@@ -0,0 +1,186 @@
+package org.hurricanegames.commandlib.utils;
+
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+/**
+ * Parsers that report parse fail via return value instead of exception<br>
+ * Used for parsing user input, where parse fail is a common case (exceptions are expensive because of stack trace)
+ */
+public class ParseUtils {
+
+	/**
+	 * Parses string as uuid<br>
+	 * Canonical form (8-4-4-4-12 hex digits) is parsed without exceptions, other forms accepted by {@link UUID#fromString(String)} are parsed using it
+	 * @param string string
+	 * @return uuid or null if string is not an uuid
+	 */
+	public static UUID parseUUID(String string) {
+		int length = string.length();
+		if (length == 36) {
+			if ((string.charAt(8) == '-') && (string.charAt(13) == '-') && (string.charAt(18) == '-') && (string.charAt(23) == '-')) {
+				long most = parseHex(string, 0, 8);
+				long mid = parseHex(string, 9, 13);
+				long high = parseHex(string, 14, 18);
+				long low = parseHex(string, 19, 23);
+				long least = parseHex(string, 24, 36);
+				if ((most | mid | high | low | least) >= 0) {
+					return new UUID((most << 32) | (mid << 16) | high, (low << 48) | least);
+				}
+			}
+		}
+		//non-canonical uuids (without leading zeroes) are rare, only they need exception based parse
+		if ((length > 36) || (string.indexOf('-') == -1)) {
+			return null;
+		}
+		try {
+			return UUID.fromString(string);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/*
+	 * Returns -1 if range contains non hex character
+	 */
+	private static long parseHex(String string, int start, int end) {
+		long value = 0;
+		for (int i = start; i < end; i++) {
+			int digit = Character.digit(string.charAt(i), 16);
+			if (digit == -1) {
+				return -1;
+			}
+			value = (value << 4) | digit;
+		}
+		return value;
+	}
+
+	/**
+	 * Parses string as decimal integer (accepts the same strings as {@link Integer#parseInt(String)})
+	 * @param string string
+	 * @return integer or empty if string is not an integer or is out of integer range
+	 */
+	public static OptionalInt parseInt(String string) {
+		int length = string.length();
+		if (length == 0) {
+			return OptionalInt.empty();
+		}
+		int index = 0;
+		boolean negative = false;
+		char first = string.charAt(0);
+		if ((first == '-') || (first == '+')) {
+			negative = first == '-';
+			index++;
+			if (length == 1) {
+				return OptionalInt.empty();
+			}
+		}
+		long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+		long value = 0;
+		for (; index < length; index++) {
+			int digit = Character.digit(string.charAt(index), 10);
+			if (digit == -1) {
+				return OptionalInt.empty();
+			}
+			value = (value * 10) + digit;
+			if (value > limit) {
+				return OptionalInt.empty();
+			}
+		}
+		return OptionalInt.of((int) (negative ? -value : value));
+	}
+
+	/**
+	 * Parses string as double (accepts the same strings as {@link Double#parseDouble(String)})<br>
+	 * Decimal notation, NaN and Infinity are validated without exceptions, other forms (hexadecimal, with surrounding whitespace) are parsed using {@link Double#parseDouble(String)}
+	 * @param string string
+	 * @return double or empty if string is not a double
+	 */
+	public static OptionalDouble parseDouble(String string) {
+		switch (validateDouble(string)) {
+			case DOUBLE_VALID: {
+				return OptionalDouble.of(Double.parseDouble(string));
+			}
+			case DOUBLE_INVALID: {
+				return OptionalDouble.empty();
+			}
+			default: {
+				try {
+					return OptionalDouble.of(Double.parseDouble(string));
+				} catch (NumberFormatException e) {
+					return OptionalDouble.empty();
+				}
+			}
+		}
+	}
+
+	private static final int DOUBLE_VALID = 0;
+	private static final int DOUBLE_INVALID = 1;
+	private static final int DOUBLE_UNKNOWN = 2;
+
+	/*
+	 * Validates sign, digits with optional dot, optional exponent, optional type suffix
+	 */
+	private static int validateDouble(String string) {
+		int length = string.length();
+		if (length == 0) {
+			return DOUBLE_INVALID;
+		}
+		if ((string.charAt(0) <= ' ') || (string.charAt(length - 1) <= ' ')) {
+			return DOUBLE_UNKNOWN;
+		}
+		int index = 0;
+		char c = string.charAt(0);
+		if ((c == '-') || (c == '+')) {
+			index++;
+		}
+		if (string.startsWith("NaN", index)) {
+			return length == (index + 3) ? DOUBLE_VALID : DOUBLE_INVALID;
+		}
+		if (string.startsWith("Infinity", index)) {
+			return length == (index + 8) ? DOUBLE_VALID : DOUBLE_INVALID;
+		}
+		if (string.startsWith("0x", index) || string.startsWith("0X", index)) {
+			return DOUBLE_UNKNOWN;
+		}
+		int digits = 0;
+		while ((index < length) && isDigit(string.charAt(index))) {
+			index++;
+			digits++;
+		}
+		if ((index < length) && (string.charAt(index) == '.')) {
+			index++;
+			while ((index < length) && isDigit(string.charAt(index))) {
+				index++;
+				digits++;
+			}
+		}
+		if (digits == 0) {
+			return DOUBLE_INVALID;
+		}
+		if ((index < length) && ((string.charAt(index) == 'e') || (string.charAt(index) == 'E'))) {
+			index++;
+			if ((index < length) && ((string.charAt(index) == '-') || (string.charAt(index) == '+'))) {
+				index++;
+			}
+			int exponentDigits = 0;
+			while ((index < length) && isDigit(string.charAt(index))) {
+				index++;
+				exponentDigits++;
+			}
+			if (exponentDigits == 0) {
+				return DOUBLE_INVALID;
+			}
+		}
+		if ((index == (length - 1)) && ("fFdD".indexOf(string.charAt(index)) != -1)) {
+			index++;
+		}
+		return index == length ? DOUBLE_VALID : DOUBLE_INVALID;
+	}
+
+	private static boolean isDigit(char c) {
+		return (c >= '0') && (c <= '9');
+	}
+
+}
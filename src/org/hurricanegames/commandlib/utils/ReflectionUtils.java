@@ -1,11 +1,19 @@
 package org.hurricanegames.commandlib.utils;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ReflectionUtils {
 
@@ -18,6 +26,26 @@ public class ReflectionUtils {
 		return null;
 	}
 
+	/**
+	 * Returns if method with provided name and parameters count is declared by class or it's superclasses up to (excluding) base class<br>
+	 * Used to detect overrides of base class methods
+	 * @param clazz class
+	 * @param base base class
+	 * @param name method name
+	 * @param parametersCount method parameters count
+	 * @return true if method is declared
+	 */
+	public static boolean isDeclaredBelow(Class<?> clazz, Class<?> base, String name, int parametersCount) {
+		for (Class<?> current = clazz; (current != null) && (current != base); current = current.getSuperclass()) {
+			for (Method method : current.getDeclaredMethods()) {
+				if (method.getName().equals(name) && (method.getParameterCount() == parametersCount)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	public static <T extends AccessibleObject> T setAccessible(T object) {
 		object.setAccessible(true);
 		return object;
@@ -53,6 +81,348 @@ public class ReflectionUtils {
 		return null;
 	}
 
+	private static final Method privateLookupInMethod = findPrivateLookupInMethod();
+
+	private static Method findPrivateLookupInMethod() {
+		try {
+			return MethodHandles.class.getMethod("privateLookupIn", Class.class, MethodHandles.Lookup.class);
+		} catch (NoSuchMethodException | SecurityException e) {
+			return null;
+		}
+	}
+
+	private static final Class<?>[] voidLambdaInvokerTypes = new Class<?>[] {
+		VoidLambdaInvoker0.class, VoidLambdaInvoker1.class, VoidLambdaInvoker2.class, VoidLambdaInvoker3.class, VoidLambdaInvoker4.class
+	};
+
+	/**
+	 * Binds method to the provided object once, so it can be invoked without reflective access checks on each call<br>
+	 * Tries (in order): {@link LambdaMetafactory} generated invoker (void instance methods with up to 4 parameters, java 9+), {@link MethodHandle} invoker, {@link #invoke(Method, Object, Object...)}
+	 * @param method method
+	 * @param obj object to bind method to (ignored for static methods)
+	 * @return bound method invoker
+	 */
+	public static BoundMethodInvoker bindInvoker(Method method, Object obj) {
+		setAccessible(method);
+		BoundMethodInvoker invoker = tryBindLambdaInvoker(method, obj);
+		if (invoker == null) {
+			invoker = tryBindMethodHandleInvoker(method, obj);
+		}
+		if (invoker == null) {
+			invoker = args -> invoke(method, obj, args);
+		}
+		return invoker;
+	}
+
+	/*
+	 * Lambda invoker factories are cached per declaring class, so lambda class is generated once per method (not once per bound object) and is not retained after the class is unloaded
+	 * Methods for which lambda invoker can't be generated are cached as empty factories, so generation is not retried
+	 */
+	private static final ClassValue<Map<Method, Optional<MethodHandle>>> lambdaInvokerFactories = new ClassValue<Map<Method, Optional<MethodHandle>>>() {
+		@Override
+		protected Map<Method, Optional<MethodHandle>> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private static BoundMethodInvoker tryBindLambdaInvoker(Method method, Object obj) {
+		int parameterCount = method.getParameterCount();
+		if (
+			(privateLookupInMethod == null) ||
+			Modifier.isStatic(method.getModifiers()) ||
+			(method.getReturnType() != void.class) ||
+			(parameterCount >= voidLambdaInvokerTypes.length)
+		) {
+			return null;
+		}
+		MethodHandle factory = lambdaInvokerFactories.get(method.getDeclaringClass()).computeIfAbsent(method, ReflectionUtils::createLambdaInvokerFactory).orElse(null);
+		if (factory == null) {
+			return null;
+		}
+		try {
+			Object lambda = factory.invoke(obj);
+			switch (parameterCount) {
+				case 0: {
+					VoidLambdaInvoker0 invoker = (VoidLambdaInvoker0) lambda;
+					return args -> {
+						invoker.invoke();
+						return null;
+					};
+				}
+				case 1: {
+					VoidLambdaInvoker1 invoker = (VoidLambdaInvoker1) lambda;
+					return args -> {
+						invoker.invoke(args[0]);
+						return null;
+					};
+				}
+				case 2: {
+					VoidLambdaInvoker2 invoker = (VoidLambdaInvoker2) lambda;
+					return args -> {
+						invoker.invoke(args[0], args[1]);
+						return null;
+					};
+				}
+				case 3: {
+					VoidLambdaInvoker3 invoker = (VoidLambdaInvoker3) lambda;
+					return args -> {
+						invoker.invoke(args[0], args[1], args[2]);
+						return null;
+					};
+				}
+				case 4: {
+					VoidLambdaInvoker4 invoker = (VoidLambdaInvoker4) lambda;
+					return args -> {
+						invoker.invoke(args[0], args[1], args[2], args[3]);
+						return null;
+					};
+				}
+				default: {
+					return null;
+				}
+			}
+		} catch (Throwable t) {
+			return null;
+		}
+	}
+
+	private static Optional<MethodHandle> createLambdaInvokerFactory(Method method) {
+		try {
+			Class<?> declaringClass = method.getDeclaringClass();
+			MethodHandles.Lookup lookup = (MethodHandles.Lookup) privateLookupInMethod.invoke(null, declaringClass, MethodHandles.lookup());
+			MethodType instantiatedType = MethodType.methodType(void.class, method.getParameterTypes()).wrap().changeReturnType(void.class);
+			return Optional.of(LambdaMetafactory.metafactory(
+				lookup, "invoke",
+				MethodType.methodType(voidLambdaInvokerTypes[method.getParameterCount()], declaringClass),
+				instantiatedType.erase(), lookup.unreflect(method), instantiatedType
+			).getTarget());
+		} catch (Throwable t) {
+			return Optional.empty();
+		}
+	}
+
+	private static BoundMethodInvoker tryBindMethodHandleInvoker(Method method, Object obj) {
+		MethodHandle handle;
+		try {
+			handle = MethodHandles.lookup().unreflect(method);
+		} catch (IllegalAccessException | RuntimeException e) {
+			return null;
+		}
+		if (!Modifier.isStatic(method.getModifiers())) {
+			handle = handle.bindTo(obj);
+		}
+		MethodHandle spreadHandle = handle.asType(handle.type().generic()).asSpreader(Object[].class, method.getParameterCount());
+		return args -> {
+			try {
+				return spreadHandle.invokeExact(args);
+			} catch (Throwable t) {
+				sneakyThrow(t);
+				return null;
+			}
+		};
+	}
+
+	@FunctionalInterface
+	public static interface BoundMethodInvoker {
+
+		/**
+		 * Invokes bound method<br>
+		 * Exceptions thrown by method are rethrown as is
+		 * @param args method arguments
+		 * @return method return value (or null if method is void)
+		 */
+		public Object invoke(Object[] args);
+
+	}
+
+	/*
+	 * Lambda invoker types used by bindInvoker, have to be public so generated lambda classes can implement them
+	 */
+
+	@FunctionalInterface
+	public static interface VoidLambdaInvoker0 {
+		public void invoke();
+	}
+
+	@FunctionalInterface
+	public static interface VoidLambdaInvoker1 {
+		public void invoke(Object arg0);
+	}
+
+	@FunctionalInterface
+	public static interface VoidLambdaInvoker2 {
+		public void invoke(Object arg0, Object arg1);
+	}
+
+	@FunctionalInterface
+	public static interface VoidLambdaInvoker3 {
+		public void invoke(Object arg0, Object arg1, Object arg2);
+	}
+
+	@FunctionalInterface
+	public static interface VoidLambdaInvoker4 {
+		public void invoke(Object arg0, Object arg1, Object arg2, Object arg3);
+	}
+
+	/*
+	 * Accessors are cached per declaring class, so they are not retained after the class is unloaded
+	 */
+	private static final ClassValue<Map<String, FieldAccessor>> fieldAccessors = new ClassValue<Map<String, FieldAccessor>>() {
+		@Override
+		protected Map<String, FieldAccessor> computeValue(Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * Returns field accessor bound to the field once (and cached), so field access doesn't do reflective access checks each time
+	 * @param field field
+	 * @return field accessor
+	 */
+	public static FieldAccessor getFieldAccessor(Field field) {
+		return fieldAccessors.get(field.getDeclaringClass()).computeIfAbsent(field.getName(), name -> new FieldAccessor(field));
+	}
+
+	/**
+	 * Returns boxed type of primitive type
+	 * @param type type
+	 * @return boxed type or type itself if it is not primitive
+	 */
+	public static Class<?> getBoxedType(Class<?> type) {
+		return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+	}
+
+	/**
+	 * Instance field accessor that uses method handles<br>
+	 * Primitive accessors (like {@link #getInt(Object)}) don't box, but can only be used if field has exactly that type
+	 */
+	public static final class FieldAccessor {
+
+		private final Field field;
+		//(Object)Object
+		private final MethodHandle getter;
+		//(Object,Object)void
+		private final MethodHandle setter;
+		//(Object)field type
+		private final MethodHandle exactGetter;
+		//(Object,field type)void
+		private final MethodHandle exactSetter;
+
+		private FieldAccessor(Field field) {
+			if (Modifier.isStatic(field.getModifiers())) {
+				throw new IllegalArgumentException("Field " + field + " is static");
+			}
+			this.field = setAccessible(field);
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.lookup();
+				MethodHandle getter = lookup.unreflectGetter(field);
+				MethodHandle setter;
+				try {
+					setter = lookup.unreflectSetter(field);
+				} catch (IllegalAccessException e) {
+					//final fields can still be set reflectively
+					setter = MethodHandles.insertArguments(lookup.findVirtual(Field.class, "set", MethodType.methodType(void.class, Object.class, Object.class)), 0, field);
+				}
+				this.exactGetter = getter.asType(MethodType.methodType(field.getType(), Object.class));
+				this.exactSetter = setter.asType(MethodType.methodType(void.class, Object.class, field.getType()));
+				this.getter = getter.asType(MethodType.methodType(Object.class, Object.class));
+				this.setter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+			} catch (IllegalAccessException | NoSuchMethodException e) {
+				throw new IllegalArgumentException("Unable to create accessor for field " + field, e);
+			}
+		}
+
+		public Field getField() {
+			return field;
+		}
+
+		public Object get(Object obj) {
+			try {
+				return getter.invokeExact(obj);
+			} catch (Throwable t) {
+				sneakyThrow(t);
+				return null;
+			}
+		}
+
+		public void set(Object obj, Object value) {
+			try {
+				setter.invokeExact(obj, value);
+			} catch (Throwable t) {
+				sneakyThrow(t);
+			}
+		}
+
+		public int getInt(Object obj) {
+			try {
+				return (int) exactGetter.invokeExact(obj);
+			} catch (Throwable t) {
+				sneakyThrow(t);
+				return 0;
+			}
+		}
+
+		public void setInt(Object obj, int value) {
+			try {
+				exactSetter.invokeExact(obj, value);
+			} catch (Throwable t) {
+				sneakyThrow(t);
+			}
+		}
+
+		public long getLong(Object obj) {
+			try {
+				return (long) exactGetter.invokeExact(obj);
+			} catch (Throwable t) {
+				sneakyThrow(t);
+				return 0;
+			}
+		}
+
+		public void setLong(Object obj, long value) {
+			try {
+				exactSetter.invokeExact(obj, value);
+			} catch (Throwable t) {
+				sneakyThrow(t);
+			}
+		}
+
+		public double getDouble(Object obj) {
+			try {
+				return (double) exactGetter.invokeExact(obj);
+			} catch (Throwable t) {
+				sneakyThrow(t);
+				return 0;
+			}
+		}
+
+		public void setDouble(Object obj, double value) {
+			try {
+				exactSetter.invokeExact(obj, value);
+			} catch (Throwable t) {
+				sneakyThrow(t);
+			}
+		}
+
+		public boolean getBoolean(Object obj) {
+			try {
+				return (boolean) exactGetter.invokeExact(obj);
+			} catch (Throwable t) {
+				sneakyThrow(t);
+				return false;
+			}
+		}
+
+		public void setBoolean(Object obj, boolean value) {
+			try {
+				exactSetter.invokeExact(obj, value);
+			} catch (Throwable t) {
+				sneakyThrow(t);
+			}
+		}
+
+	}
+
 	@SuppressWarnings("unchecked")
 	public static <T> T newInstance(Constructor<?> constr, Object... args) {
 		try {
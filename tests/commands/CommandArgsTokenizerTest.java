@@ -0,0 +1,65 @@
+package commands;
+
+import org.hurricanegames.commandlib.commands.CommandArgsTokenizer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CommandArgsTokenizerTest {
+
+	protected static String[] tokenize(boolean completion, String... args) {
+		return new CommandArgsTokenizer().tokenize(args, completion).getTokens();
+	}
+
+	@Test
+	public void testSplit() {
+		Assertions.assertArrayEquals(new String[0], tokenize(false));
+		Assertions.assertArrayEquals(new String[] {"a", "b"}, tokenize(false, "a", "b"));
+		Assertions.assertArrayEquals(new String[] {"a", "", "b"}, tokenize(false, "a", "", "b"));
+		Assertions.assertArrayEquals(new String[] {"a"}, tokenize(false, "a", ""));
+		Assertions.assertArrayEquals(new String[] {"a", ""}, tokenize(true, "a", ""));
+	}
+
+	@Test
+	public void testEscapeAndQuote() {
+		Assertions.assertArrayEquals(new String[] {"a b", "c"}, tokenize(false, "a\\", "b", "c"));
+		Assertions.assertArrayEquals(new String[] {"a\\b"}, tokenize(false, "a\\\\b"));
+		Assertions.assertArrayEquals(new String[] {"a b", "c"}, tokenize(false, "\"a", "b\"", "c"));
+		Assertions.assertArrayEquals(new String[] {"a \"b\""}, tokenize(false, "\"a", "\\\"b\\\"\""));
+		Assertions.assertArrayEquals(new String[] {"", "c"}, tokenize(false, "\"\"", "c"));
+		Assertions.assertArrayEquals(new String[] {"a b"}, tokenize(true, "\"a", "b"));
+	}
+
+	@Test
+	public void testPositions() {
+		CommandArgsTokenizer tokenizer = new CommandArgsTokenizer().tokenize(new String[] {"ab", "\"c", "d\"", "e"}, false);
+		Assertions.assertArrayEquals(new String[] {"ab", "c d", "e"}, tokenizer.getTokens());
+		Assertions.assertArrayEquals(new int[] {0, 3, 9}, tokenizer.getTokensPositions());
+	}
+
+	@Test
+	public void testUnclosedQuote() {
+		CommandArgsTokenizer tokenizer = new CommandArgsTokenizer().tokenize(new String[] {"ab", "\"c", "d"}, false);
+		Assertions.assertTrue(tokenizer.hasUnclosedQuote());
+		Assertions.assertEquals(3, tokenizer.getUnclosedQuotePosition());
+		tokenizer.tokenize(new String[] {"ab", "\"c\"", "\\\"d"}, false);
+		Assertions.assertFalse(tokenizer.hasUnclosedQuote());
+		Assertions.assertEquals(-1, tokenizer.getUnclosedQuotePosition());
+	}
+
+	@Test
+	public void testLastArgCompletion() {
+		CommandArgsTokenizer tokenizer = new CommandArgsTokenizer();
+
+		tokenizer.tokenize(new String[] {"a", "wo"}, true);
+		Assertions.assertEquals("world", tokenizer.toLastArgCompletion("world"));
+		Assertions.assertEquals("new\\ world", tokenizer.toLastArgCompletion("new world"));
+
+		tokenizer.tokenize(new String[] {"\"hello", "wo"}, true);
+		Assertions.assertEquals("world\"", tokenizer.toLastArgCompletion("hello world"));
+		Assertions.assertNull(tokenizer.toLastArgCompletion("other world"));
+
+		tokenizer.tokenize(new String[] {"hello\\", "wo"}, true);
+		Assertions.assertEquals("world", tokenizer.toLastArgCompletion("hello world"));
+	}
+
+}
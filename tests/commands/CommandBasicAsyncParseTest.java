@@ -0,0 +1,175 @@
+package commands;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+import org.hurricanegames.commandlib.commands.CommandBasic;
+import org.hurricanegames.commandlib.commands.CommandContext;
+import org.hurricanegames.commandlib.commands.CommandHelper;
+import org.hurricanegames.commandlib.providers.messages.DefaultMessages;
+import org.hurricanegames.commandlib.providers.playerinfo.ExecutorAsyncPlayerInfoProvider;
+import org.hurricanegames.commandlib.providers.playerinfo.PlayerInfo;
+import org.hurricanegames.commandlib.providers.playerinfo.PlayerInfoStorage;
+import org.hurricanegames.commandlib.utils.MainThreadExecutor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CommandBasicAsyncParseTest {
+
+	@Test
+	public void testOfflinePlayerIsLoadedOnExecutor() throws InterruptedException {
+		UUID uuid = new UUID(1, 1);
+		TestStorage storage = new TestStorage(uuid, "Notch");
+		List<Runnable> tasks = new ArrayList<>();
+		TestMainThreadExecutor mainThreadExecutor = new TestMainThreadExecutor(Thread.currentThread());
+		TestProvider provider = new TestProvider(mainThreadExecutor, storage, tasks::add);
+		TestCommand command = new TestCommand(new CommandHelper<>(DefaultMessages.IMMUTABLE, provider), mainThreadExecutor);
+
+		command.handleCommand(new CommandContext(DefaultMessages.IMMUTABLE, null, "test", new String[] {"notch"}));
+		Assertions.assertFalse(command.handled.isDone());
+		Assertions.assertTrue(storage.loadThreads.isEmpty());
+		Assertions.assertEquals(1, tasks.size());
+
+		Thread executorThread = new Thread(tasks.remove(0));
+		executorThread.start();
+		executorThread.join();
+		Assertions.assertEquals(1, storage.loadThreads.size());
+		Assertions.assertSame(executorThread, storage.loadThreads.get(0));
+		Assertions.assertFalse(command.handled.isDone());
+		Assertions.assertEquals(1, mainThreadExecutor.tasks.size());
+		mainThreadExecutor.tasks.remove(0).run();
+		Assertions.assertEquals(uuid, command.handled.join().getUUID());
+		Assertions.assertSame(Thread.currentThread(), command.handleThread);
+
+		//cached player is parsed without storage access
+		command.handled = new CompletableFuture<>();
+		command.handleCommand(new CommandContext(DefaultMessages.IMMUTABLE, null, "test", new String[] {"Notch"}));
+		Assertions.assertEquals(uuid, command.handled.join().getUUID());
+		Assertions.assertEquals(1, storage.loadThreads.size());
+		Assertions.assertTrue(tasks.isEmpty());
+	}
+
+	protected static class TestCommand extends CommandBasic<CommandHelper<DefaultMessages, TestPlayerInfo, TestProvider>> {
+
+		protected final MainThreadExecutor mainThreadExecutor;
+		protected CompletableFuture<TestPlayerInfo> handled = new CompletableFuture<>();
+		protected Thread handleThread;
+
+		public TestCommand(CommandHelper<DefaultMessages, TestPlayerInfo, TestProvider> helper, MainThreadExecutor mainThreadExecutor) {
+			super(helper);
+			this.mainThreadExecutor = mainThreadExecutor;
+		}
+
+		@CommandHandler
+		protected void handle(@CommandArgumentDefinition(CommandArgumentOfflinePlayer.class) TestPlayerInfo player) {
+			handleThread = Thread.currentThread();
+			handled.complete(player);
+		}
+
+		@Override
+		protected MainThreadExecutor getMainThreadExecutor() {
+			return mainThreadExecutor;
+		}
+
+		@Override
+		protected String getHelpExplainMessage() {
+			return "test";
+		}
+
+	}
+
+	protected static class TestStorage implements PlayerInfoStorage {
+
+		protected final UUID uuid;
+		protected final String name;
+		protected final List<Thread> loadThreads = new ArrayList<>();
+
+		public TestStorage(UUID uuid, String name) {
+			this.uuid = uuid;
+			this.name = name;
+		}
+
+		@Override
+		public <R> R loadByUUID(UUID uuid, BiFunction<UUID, String, R> factory) throws IOException {
+			loadThreads.add(Thread.currentThread());
+			return this.uuid.equals(uuid) ? factory.apply(uuid, name) : null;
+		}
+
+		@Override
+		public <R> R loadByName(String name, boolean ignoreCase, BiFunction<UUID, String, R> factory) throws IOException {
+			loadThreads.add(Thread.currentThread());
+			return (ignoreCase ? this.name.equalsIgnoreCase(name) : this.name.equals(name)) ? factory.apply(uuid, this.name) : null;
+		}
+
+		@Override
+		public void store(UUID uuid, String name) throws IOException {
+		}
+
+	}
+
+	protected static class TestPlayerInfo implements PlayerInfo {
+
+		protected final UUID uuid;
+		protected final String name;
+
+		public TestPlayerInfo(UUID uuid, String name) {
+			this.uuid = uuid;
+			this.name = name;
+		}
+
+		@Override
+		public UUID getUUID() {
+			return uuid;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+	}
+
+	/*
+	 * Tasks submitted from other threads are queued until test runs them on the main thread
+	 */
+	protected static class TestMainThreadExecutor implements MainThreadExecutor {
+
+		protected final Thread mainThread;
+		protected final List<Runnable> tasks = new CopyOnWriteArrayList<>();
+
+		public TestMainThreadExecutor(Thread mainThread) {
+			this.mainThread = mainThread;
+		}
+
+		@Override
+		public boolean isMainThread() {
+			return Thread.currentThread() == mainThread;
+		}
+
+		@Override
+		public void execute(Runnable task) {
+			tasks.add(task);
+		}
+
+	}
+
+	protected static class TestProvider extends ExecutorAsyncPlayerInfoProvider<TestPlayerInfo> {
+
+		public TestProvider(MainThreadExecutor mainThreadExecutor, PlayerInfoStorage storage, Executor executor) {
+			super(null, mainThreadExecutor, storage, executor, 100, 60000);
+		}
+
+		@Override
+		protected TestPlayerInfo createPlayerInfo(UUID uuid, String name) {
+			return new TestPlayerInfo(uuid, name);
+		}
+
+	}
+
+}
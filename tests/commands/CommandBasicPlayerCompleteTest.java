@@ -0,0 +1,103 @@
+package commands;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.hurricanegames.commandlib.commands.CommandBasic;
+import org.hurricanegames.commandlib.commands.CommandContext;
+import org.hurricanegames.commandlib.commands.CommandHelper;
+import org.hurricanegames.commandlib.providers.messages.DefaultMessages;
+import org.hurricanegames.commandlib.providers.playerinfo.AbstractCachedPlayerInfoProvider;
+import org.hurricanegames.commandlib.providers.playerinfo.PlayerInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CommandBasicPlayerCompleteTest {
+
+	@Test
+	public void testCachedProviderCompletesInline() {
+		TestProvider provider = new TestProvider();
+		provider.join(new UUID(1, 1), "Notch");
+		provider.join(new UUID(2, 2), "Nathan");
+		provider.join(new UUID(3, 3), "Jeb_");
+		provider.flushJoins();
+
+		//test thread is not the server main thread, so hopping to main thread would never complete
+		TestCommand command = new TestCommand(provider);
+		CompletableFuture<List<String>> future = command.getAutoCompleteAsync(new CommandContext(DefaultMessages.IMMUTABLE, null, "test", new String[] {"N"}));
+		Assertions.assertTrue(future.isDone());
+		Assertions.assertEquals(Arrays.asList("Nathan", "Notch"), future.join());
+	}
+
+	protected static class TestCommand extends CommandBasic<CommandHelper<DefaultMessages, TestPlayerInfo, TestProvider>> {
+
+		public TestCommand(TestProvider provider) {
+			super(new CommandHelper<>(DefaultMessages.IMMUTABLE, provider));
+		}
+
+		@CommandHandler
+		protected void handle(@CommandArgumentDefinition(CommandArgumentOfflinePlayer.class) TestPlayerInfo player) {
+		}
+
+		@Override
+		protected String getHelpExplainMessage() {
+			return "test";
+		}
+
+	}
+
+	protected static class TestPlayerInfo implements PlayerInfo {
+
+		protected final UUID uuid;
+		protected final String name;
+
+		public TestPlayerInfo(UUID uuid, String name) {
+			this.uuid = uuid;
+			this.name = name;
+		}
+
+		@Override
+		public UUID getUUID() {
+			return uuid;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+	}
+
+	protected static class TestProvider extends AbstractCachedPlayerInfoProvider<TestPlayerInfo> {
+
+		public TestProvider() {
+			super(null);
+			this.warm = true;
+		}
+
+		public void join(UUID uuid, String name) {
+			queueJoin(new TestPlayerInfo(uuid, name));
+		}
+
+		@Override
+		public TestPlayerInfo createUnknown(UUID uuid) {
+			return new TestPlayerInfo(uuid, null);
+		}
+
+		@Override
+		protected TestPlayerInfo createPlayerInfo(Player player) {
+			return new TestPlayerInfo(player.getUniqueId(), player.getName());
+		}
+
+		@Override
+		protected TestPlayerInfo createPlayerInfo(OfflinePlayer player) {
+			return new TestPlayerInfo(player.getUniqueId(), player.getName());
+		}
+
+	}
+
+}
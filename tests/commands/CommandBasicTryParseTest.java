@@ -0,0 +1,96 @@
+package commands;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.bukkit.ChatColor;
+import org.hurricanegames.commandlib.commands.CommandArgsTokenizer;
+import org.hurricanegames.commandlib.commands.CommandBasic;
+import org.hurricanegames.commandlib.commands.CommandContext;
+import org.hurricanegames.commandlib.commands.CommandHelper;
+import org.hurricanegames.commandlib.commands.CommandResponseException;
+import org.hurricanegames.commandlib.providers.messages.DefaultMessages;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CommandBasicTryParseTest {
+
+	@Test
+	public void testCompleteDoesNotUseThrowingParse() {
+		TestCommand command = new TestCommand();
+		Assertions.assertEquals(Collections.emptyList(), command.getAutoComplete(createContext("a", "")));
+		Assertions.assertEquals(Collections.emptyList(), command.getAutoComplete(createContext("-5", "")));
+		Assertions.assertEquals(Arrays.asList("true"), command.getAutoComplete(createContext("5", "t")));
+	}
+
+	@Test
+	public void testParseErrorPointsAtArg() {
+		TestCommand command = new TestCommand();
+		command.exceptionParseAllowed = true;
+		String message = Assertions.assertThrows(CommandResponseException.class, () -> command.handleCommand(createTokenizedContext("5", "maybe"))).getMessage();
+		Assertions.assertTrue(message.startsWith(DefaultMessages.IMMUTABLE.getArgBooleanErrorNotBooleanMessage("maybe") + "\n"), message);
+		Assertions.assertTrue(message.contains("5 " + ChatColor.RED + ChatColor.UNDERLINE + "maybe" + ChatColor.RESET), message);
+
+		message = Assertions.assertThrows(CommandResponseException.class, () -> command.handleCommand(createTokenizedContext("\"-5\"", "true"))).getMessage();
+		Assertions.assertTrue(message.contains(ChatColor.UNDERLINE + "\"-5\"" + ChatColor.RESET), message);
+
+		//missing arg has no position
+		message = Assertions.assertThrows(CommandResponseException.class, () -> command.handleCommand(createTokenizedContext("5"))).getMessage();
+		Assertions.assertFalse(message.contains("\n"), message);
+	}
+
+	protected static CommandContext createContext(String... args) {
+		return new CommandContext(DefaultMessages.IMMUTABLE, null, "test", args);
+	}
+
+	protected static CommandContext createTokenizedContext(String... args) {
+		CommandArgsTokenizer tokenizer = new CommandArgsTokenizer().tokenize(args, false);
+		return new CommandContext(DefaultMessages.IMMUTABLE, null, "test", tokenizer.getTokens(), tokenizer.getTokensPositions(), args, 0, null, -1) {
+		};
+	}
+
+	protected static class TestCommand extends CommandBasic<CommandHelper<DefaultMessages, ?, ?>> {
+
+		protected boolean exceptionParseAllowed = false;
+
+		public TestCommand() {
+			super(new CommandHelper<>(DefaultMessages.IMMUTABLE, null));
+		}
+
+		@CommandHandler
+		protected void handle(
+			@CommandArgumentDefinition(PositiveIntegerArgument.class) Integer integer,
+			@CommandArgumentDefinition(CommandArgumentBoolean.class) Boolean bool
+		) {
+		}
+
+		@Override
+		protected String getHelpExplainMessage() {
+			return "test";
+		}
+
+		protected class PositiveIntegerArgument extends CommandArgumentInteger {
+
+			@Override
+			public Integer parseValue(String arg) {
+				if (!exceptionParseAllowed) {
+					throw new AssertionError("Exception based parse used for " + arg);
+				}
+				return super.parseValue(arg);
+			}
+
+			@Override
+			protected boolean isValid(int value) {
+				return value > 0;
+			}
+
+			@Override
+			protected String getHelpMessage() {
+				return "{positive integer}";
+			}
+
+		}
+
+	}
+
+}
@@ -0,0 +1,37 @@
+package commands;
+
+import java.util.Arrays;
+
+import org.hurricanegames.commandlib.commands.CommandArgsTokenizer;
+import org.hurricanegames.commandlib.commands.CommandCompletionSink;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CommandCompletionSinkTest {
+
+	@Test
+	public void testLimit() {
+		CommandCompletionSink completions = new CommandCompletionSink(2);
+		Assertions.assertTrue(completions.add("a"));
+		Assertions.assertFalse(completions.add("b"));
+		Assertions.assertFalse(completions.add("c"));
+		Assertions.assertTrue(completions.isFull());
+		Assertions.assertEquals(0, completions.getRemaining());
+		Assertions.assertEquals(Arrays.asList("a", "b"), completions.getCompletions());
+
+		CommandCompletionSink unlimited = new CommandCompletionSink();
+		Assertions.assertTrue(unlimited.addAll(Arrays.asList("a", "b", "c")));
+		Assertions.assertEquals(Arrays.asList("a", "b", "c"), unlimited.getCompletions());
+	}
+
+	@Test
+	public void testMapper() {
+		CommandArgsTokenizer tokenizer = new CommandArgsTokenizer().tokenize(new String[] {"\"a", "b"}, true);
+		CommandCompletionSink completions = new CommandCompletionSink(2, tokenizer::toLastArgCompletion);
+		Assertions.assertTrue(completions.add("x y"));
+		Assertions.assertTrue(completions.add("a b"));
+		Assertions.assertFalse(completions.add("a bc"));
+		Assertions.assertEquals(Arrays.asList("b\"", "bc\""), completions.getCompletions());
+	}
+
+}
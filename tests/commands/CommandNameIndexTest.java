@@ -0,0 +1,64 @@
+package commands;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.hurricanegames.commandlib.commands.CommandNameIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CommandNameIndexTest {
+
+	@Test
+	public void testLookup() {
+		CommandNameIndex<Integer> index = new CommandNameIndex<>(false);
+		index.put("reload", 1);
+		index.put("remove", 2);
+		index.put("re", 3);
+		index.put("add", 4);
+
+		Assertions.assertEquals(4, index.size());
+		Assertions.assertEquals(Integer.valueOf(1), index.get("reload"));
+		Assertions.assertEquals(Integer.valueOf(2), index.get("remove"));
+		Assertions.assertEquals(Integer.valueOf(3), index.get("re"));
+		Assertions.assertEquals(Integer.valueOf(4), index.get("add"));
+		Assertions.assertNull(index.get("r"));
+		Assertions.assertNull(index.get("rel"));
+		Assertions.assertNull(index.get("reloads"));
+		Assertions.assertNull(index.get("Reload"));
+
+		Assertions.assertEquals(Integer.valueOf(1), index.put("reload", 5));
+		Assertions.assertEquals(Integer.valueOf(5), index.get("reload"));
+		Assertions.assertEquals(4, index.size());
+	}
+
+	@Test
+	public void testPrefix() {
+		CommandNameIndex<Integer> index = new CommandNameIndex<>(false);
+		index.put("reload", 1);
+		index.put("remove", 2);
+		index.put("re", 3);
+		index.put("add", 4);
+
+		Assertions.assertEquals(Arrays.asList("add", "re", "reload", "remove"), index.getNamesStartingWith(""));
+		Assertions.assertEquals(Arrays.asList("re", "reload", "remove"), index.getNamesStartingWith("r"));
+		Assertions.assertEquals(Arrays.asList("reload"), index.getNamesStartingWith("rel"));
+		Assertions.assertEquals(Arrays.asList("reload"), index.getNamesStartingWith("reload"));
+		Assertions.assertEquals(Collections.emptyList(), index.getNamesStartingWith("reloads"));
+		Assertions.assertEquals(Collections.emptyList(), index.getNamesStartingWith("x"));
+	}
+
+	@Test
+	public void testIgnoreCase() {
+		CommandNameIndex<Integer> index = new CommandNameIndex<>(true);
+		index.put("Reload", 1);
+		index.put("rl", 1);
+
+		Assertions.assertEquals(Integer.valueOf(1), index.get("reload"));
+		Assertions.assertEquals(Integer.valueOf(1), index.get("RELOAD"));
+		Assertions.assertEquals(Integer.valueOf(1), index.get("RL"));
+		Assertions.assertEquals(Arrays.asList("Reload"), index.getNamesStartingWith("REL"));
+		Assertions.assertEquals(Arrays.asList("Reload", "rl"), index.getNamesStartingWith("R"));
+	}
+
+}
@@ -0,0 +1,115 @@
+package commands;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.hurricanegames.commandlib.commands.Command;
+import org.hurricanegames.commandlib.commands.CommandContext;
+import org.hurricanegames.commandlib.commands.CommandHelper;
+import org.hurricanegames.commandlib.commands.CommandRouter;
+import org.hurricanegames.commandlib.providers.messages.DefaultMessages;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CommandRouterTest {
+
+	protected static final CommandHelper<DefaultMessages, ?, ?> HELPER = new CommandHelper<>(DefaultMessages.IMMUTABLE, null);
+	protected static final String HELP_COLOR = DefaultMessages.IMMUTABLE.getSubCommandLabelColor();
+
+	@Test
+	public void testNestedAddInvalidatesParentHelp() {
+		TestRouter root = new TestRouter(false);
+		TestRouter nested = new TestRouter(false);
+		root.addCommand("nested", nested);
+		nested.addCommand("a", new TestCommand());
+		Assertions.assertEquals(1, root.getHelpMessages("root").size());
+
+		nested.addCommand("b", new TestCommand());
+		Assertions.assertEquals(2, root.getHelpMessages("root").size());
+	}
+
+	@Test
+	public void testInvalidateHelpCache() {
+		TestRouter root = new TestRouter(false);
+		TestRouter nested = new TestRouter(false);
+		TestCommand command = new TestCommand();
+		root.addCommand("nested", nested);
+		nested.addCommand("a", command);
+		Assertions.assertEquals(Collections.singletonList(HELP_COLOR + "root " + HELP_COLOR + "nested a"), root.getHelpMessages("root"));
+
+		//help changed without revision change, cached help is used until invalidated
+		command.helpSuffix = " reloaded";
+		Assertions.assertEquals(Collections.singletonList(HELP_COLOR + "root " + HELP_COLOR + "nested a"), root.getHelpMessages("root"));
+		root.invalidateHelpCache();
+		Assertions.assertEquals(Collections.singletonList(HELP_COLOR + "root " + HELP_COLOR + "nested a reloaded"), root.getHelpMessages("root"));
+		Assertions.assertEquals(Collections.singletonList(HELP_COLOR + "nested a reloaded"), nested.getHelpMessages("nested"));
+	}
+
+	@Test
+	public void testIgnoreCaseRejectsFoldedDuplicates() {
+		TestRouter router = new TestRouter(true);
+		TestCommand foo = new TestCommand();
+		router.addCommand("Foo", foo, "f");
+		Assertions.assertThrows(IllegalArgumentException.class, () -> router.addCommand("foo", new TestCommand()));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> router.addCommand("bar", new TestCommand(), "F"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> router.addCommand("baz", new TestCommand(), "qux", "QUX"));
+		Assertions.assertEquals(Collections.singletonList(HELP_COLOR + "root Foo"), router.getHelpMessages("root"));
+
+		//rejected registrations don't leave partial aliases
+		router.addCommand("bar", new TestCommand(), "b");
+		router.addCommand("baz", new TestCommand(), "qux");
+
+		router.handleCommand(new CommandContext(DefaultMessages.IMMUTABLE, null, "root", new String[] {"FOO"}));
+		Assertions.assertTrue(foo.handled);
+	}
+
+	@Test
+	public void testExactCaseAllowsDifferentCase() {
+		TestRouter router = new TestRouter(false);
+		router.addCommand("Foo", new TestCommand());
+		router.addCommand("foo", new TestCommand());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> router.addCommand("foo", new TestCommand()));
+		Assertions.assertEquals(2, router.getHelpMessages("root").size());
+	}
+
+	protected static class TestRouter extends CommandRouter<CommandHelper<DefaultMessages, ?, ?>> {
+
+		public TestRouter(boolean ignoreCase) {
+			super(HELPER, ignoreCase);
+		}
+
+		@Override
+		public void addCommand(String name, Command<CommandHelper<DefaultMessages, ?, ?>> command, String... aliases) {
+			super.addCommand(name, command, aliases);
+		}
+
+	}
+
+	protected static class TestCommand implements Command<CommandHelper<DefaultMessages, ?, ?>> {
+
+		protected boolean handled;
+		protected String helpSuffix = "";
+
+		@Override
+		public CommandHelper<DefaultMessages, ?, ?> getHelper() {
+			return HELPER;
+		}
+
+		@Override
+		public void handleCommand(CommandContext context) {
+			handled = true;
+		}
+
+		@Override
+		public List<String> getAutoComplete(CommandContext context) {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public List<String> getHelpMessages(String commandLabel) {
+			return Collections.singletonList(commandLabel + helpSuffix);
+		}
+
+	}
+
+}
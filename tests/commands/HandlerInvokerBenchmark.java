@@ -0,0 +1,55 @@
+package commands;
+
+import java.lang.reflect.Method;
+
+import org.hurricanegames.commandlib.utils.ReflectionUtils;
+import org.hurricanegames.commandlib.utils.ReflectionUtils.BoundMethodInvoker;
+
+/**
+ * Compares per-call cost of reflective handler invocation with bound invoker<br>
+ * Run manually: java -cp build/classes/java/main:build/classes/java/test commands.HandlerInvokerBenchmark
+ */
+public class HandlerInvokerBenchmark {
+
+	protected static class TestHandler {
+
+		protected long sum;
+
+		@SuppressWarnings("unused")
+		private void handle(String string, Integer integer) {
+			sum += string.length() + integer;
+		}
+
+	}
+
+	protected static final int ITERATIONS = 10_000_000;
+	protected static final int ROUNDS = 5;
+
+	public static void main(String[] args) throws Exception {
+		TestHandler handler = new TestHandler();
+		Method method = ReflectionUtils.setAccessible(TestHandler.class.getDeclaredMethod("handle", String.class, Integer.class));
+		BoundMethodInvoker invoker = ReflectionUtils.bindInvoker(method, handler);
+		Object[] values = new Object[] {"argument", Integer.valueOf(10)};
+
+		for (int round = 0; round < ROUNDS; round++) {
+			long reflectionStart = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				ReflectionUtils.invoke(method, handler, values);
+			}
+			long reflectionTime = System.nanoTime() - reflectionStart;
+
+			long invokerStart = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				invoker.invoke(values);
+			}
+			long invokerTime = System.nanoTime() - invokerStart;
+
+			System.out.println(String.format(
+				"round %d: Method.invoke %.2f ns/call, bound invoker %.2f ns/call",
+				round, (double) reflectionTime / ITERATIONS, (double) invokerTime / ITERATIONS
+			));
+		}
+		System.out.println(handler.sum);
+	}
+
+}
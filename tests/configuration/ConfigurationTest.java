@@ -1,5 +1,6 @@
 package configuration;
 
+import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -72,4 +73,85 @@ public class ConfigurationTest {
 		}
 	}
 
+	protected static class PrimitiveTestConfiguration extends BaseConfiguration {
+
+		@ConfigurationFieldDefinition
+		public int intValue = 1;
+
+		@ConfigurationFieldDefinition
+		public long longValue = 2;
+
+		@ConfigurationFieldDefinition
+		public double doubleValue = 3.5;
+
+		@ConfigurationFieldDefinition
+		public boolean booleanValue = true;
+
+		@ConfigurationFieldDefinition
+		public float floatValue = 4.5F;
+
+		@ConfigurationFieldDefinition
+		public TestConfiguration nested = new TestConfiguration();
+
+		@Override
+		public void load(ConfigurationSection section) {
+			super.load(section);
+		}
+
+		@Override
+		public void save(ConfigurationSection section) {
+			super.save(section);
+		}
+
+	}
+
+	@Test
+	public void testPrimitiveFields() {
+		PrimitiveTestConfiguration configuration = new PrimitiveTestConfiguration();
+		MemoryConfiguration memoryconfiguration = new MemoryConfiguration();
+		configuration.save(memoryconfiguration);
+		Assertions.assertEquals(1, memoryconfiguration.get("intvalue"));
+		Assertions.assertEquals(2L, memoryconfiguration.get("longvalue"));
+		Assertions.assertEquals(3.5D, memoryconfiguration.get("doublevalue"));
+		Assertions.assertEquals(Boolean.TRUE, memoryconfiguration.get("booleanvalue"));
+		Assertions.assertEquals(4.5F, memoryconfiguration.get("floatvalue"));
+
+		memoryconfiguration.set("intvalue", 10);
+		memoryconfiguration.set("longvalue", 20);
+		memoryconfiguration.set("doublevalue", 30);
+		memoryconfiguration.set("booleanvalue", false);
+		memoryconfiguration.set("floatvalue", 40.5F);
+		PrimitiveTestConfiguration loaded = new PrimitiveTestConfiguration();
+		loaded.load(memoryconfiguration);
+		Assertions.assertEquals(10, loaded.intValue);
+		Assertions.assertEquals(20L, loaded.longValue);
+		Assertions.assertEquals(30D, loaded.doubleValue);
+		Assertions.assertEquals(false, loaded.booleanValue);
+		Assertions.assertEquals(40.5F, loaded.floatValue);
+		Assertions.assertEquals(configuration.nested.string, loaded.nested.string);
+	}
+
+	@Test
+	public void testPrimitiveFieldsRejectNarrowing() {
+		MemoryConfiguration memoryconfiguration = new MemoryConfiguration();
+		memoryconfiguration.set("intvalue", 3.7D);
+		memoryconfiguration.set("longvalue", BigInteger.ONE.shiftLeft(64));
+		PrimitiveTestConfiguration loaded = new PrimitiveTestConfiguration();
+		loaded.load(memoryconfiguration);
+		Assertions.assertEquals(1, loaded.intValue);
+		Assertions.assertEquals(2L, loaded.longValue);
+
+		memoryconfiguration.set("intvalue", Long.valueOf(Integer.MAX_VALUE + 1L));
+		memoryconfiguration.set("longvalue", Integer.valueOf(5));
+		loaded.load(memoryconfiguration);
+		Assertions.assertEquals(1, loaded.intValue);
+		Assertions.assertEquals(5L, loaded.longValue);
+
+		memoryconfiguration.set("intvalue", Long.valueOf(-7));
+		memoryconfiguration.set("longvalue", BigInteger.valueOf(Long.MAX_VALUE));
+		loaded.load(memoryconfiguration);
+		Assertions.assertEquals(-7, loaded.intValue);
+		Assertions.assertEquals(Long.MAX_VALUE, loaded.longValue);
+	}
+
 }
@@ -0,0 +1,106 @@
+package configuration;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hurricanegames.commandlib.configurations.BaseConfiguration;
+import org.hurricanegames.commandlib.configurations.ConfigurationUtils.SimpleListConfigurationField;
+
+/**
+ * Measures construction cost of 100k nested configurations (like the ones created when loading a map of sections)<br>
+ * Compares cached field plans with per-instance fields discovery (as it was done before)<br>
+ * Run manually: java -cp build/classes/java/main:build/classes/java/test:paper-api.jar configuration.NestedConfigurationBenchmark
+ */
+public class NestedConfigurationBenchmark {
+
+	protected static final int CONFIGURATIONS = 100_000;
+	protected static final int ROUNDS = 5;
+
+	protected static class BaseSectionConfiguration extends BaseConfiguration {
+
+		@ConfigurationFieldDefinition
+		public String name = "name";
+
+		@ConfigurationFieldDefinition
+		public Integer weight = 1;
+
+	}
+
+	protected static class SectionConfiguration extends BaseSectionConfiguration {
+
+		@ConfigurationFieldDefinition
+		public String description = "description";
+
+		@ConfigurationFieldDefinition
+		public Double chance = 0.5;
+
+		@ConfigurationFieldDefinition(fieldType = SimpleListConfigurationField.class)
+		public List<String> commands = new ArrayList<>();
+
+		@ConfigurationFieldDefinition
+		public ChildConfiguration child = new ChildConfiguration();
+
+		public int notAField;
+
+	}
+
+	protected static class ChildConfiguration extends BaseConfiguration {
+
+		@ConfigurationFieldDefinition
+		public Boolean enabled = true;
+
+		@ConfigurationFieldDefinition
+		public String message = "message";
+
+	}
+
+	/*
+	 * Fields discovery that previously ran in every configuration constructor
+	 */
+	protected static int discoverFields(Class<?> configurationClass) {
+		int count = 0;
+		Class<?> clazz = configurationClass;
+		do {
+			for (Field field : clazz.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers())) {
+					continue;
+				}
+				field.setAccessible(true);
+				BaseConfiguration.ConfigurationFieldDefinition definition = field.getAnnotation(BaseConfiguration.ConfigurationFieldDefinition.class);
+				if (definition != null) {
+					if (definition.fieldType() != BaseConfiguration.ConfigurationFieldDefinition.DefaultConfigurationField.class) {
+						definition.fieldType().getConstructors();
+					}
+					count += field.getName().toLowerCase().replace("_", ".").length();
+				}
+			}
+		} while ((clazz = clazz.getSuperclass()) != null);
+		return count;
+	}
+
+	public static void main(String[] args) {
+		long blackhole = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			long discoveryStart = System.nanoTime();
+			for (int i = 0; i < CONFIGURATIONS; i++) {
+				blackhole += discoverFields(SectionConfiguration.class) + discoverFields(ChildConfiguration.class);
+			}
+			long discoveryTime = System.nanoTime() - discoveryStart;
+
+			long cachedStart = System.nanoTime();
+			for (int i = 0; i < CONFIGURATIONS; i++) {
+				blackhole += new SectionConfiguration().child.message.length();
+			}
+			long cachedTime = System.nanoTime() - cachedStart;
+
+			System.out.println(String.format(
+				"round %d: fields discovery alone %.1f ms, construction with cached plans %.1f ms (%d configs with nested child)",
+				round, discoveryTime / 1_000_000D, cachedTime / 1_000_000D, CONFIGURATIONS
+			));
+		}
+		System.out.println(blackhole);
+	}
+
+}
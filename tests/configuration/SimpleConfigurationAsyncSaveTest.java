@@ -0,0 +1,159 @@
+package configuration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.hurricanegames.commandlib.configurations.SimpleConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SimpleConfigurationAsyncSaveTest {
+
+	protected static class TestConfiguration extends SimpleConfiguration {
+
+		@ConfigurationFieldDefinition
+		public String string = "value0";
+
+		@ConfigurationFieldDefinition
+		public List<String> list = new ArrayList<>();
+
+		protected final File file;
+		protected final Queue<Runnable> tasks = new ArrayDeque<>();
+
+		public TestConfiguration(File file) {
+			this.file = file;
+		}
+
+		@Override
+		protected Executor getSaveExecutor() {
+			return tasks::add;
+		}
+
+		protected Executor getDefaultExecutor() {
+			return super.getSaveExecutor();
+		}
+
+		@Override
+		protected File getStorageFile() {
+			return file;
+		}
+
+		public void runTasks() {
+			Runnable task;
+			while ((task = tasks.poll()) != null) {
+				task.run();
+			}
+		}
+
+		public String read() throws IOException {
+			return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		}
+
+		public String expected() {
+			YamlConfiguration config = new YamlConfiguration();
+			save(config);
+			return config.saveToString();
+		}
+
+	}
+
+	@Test
+	public void testSavesAreMerged() throws IOException {
+		File file = Files.createTempFile("configuration", ".yml").toFile();
+		try {
+			TestConfiguration configuration = new TestConfiguration(file);
+			CompletableFuture<Void> future = configuration.saveAsync();
+			for (int i = 1; i <= 10; i++) {
+				configuration.string = "value" + i;
+				Assertions.assertSame(future, configuration.saveAsync());
+			}
+			Assertions.assertEquals(1, configuration.tasks.size());
+			Assertions.assertFalse(future.isDone());
+
+			String expected = configuration.expected();
+			configuration.list.add("added after save");
+			configuration.runTasks();
+			Assertions.assertTrue(future.isDone());
+			Assertions.assertEquals(expected, configuration.read());
+			Assertions.assertFalse(future == configuration.saveAsync());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testSaveSupersedesPendingSave() throws IOException {
+		File file = Files.createTempFile("configuration", ".yml").toFile();
+		try {
+			TestConfiguration configuration = new TestConfiguration(file);
+			CompletableFuture<Void> future = configuration.saveAsync();
+			configuration.string = "saved";
+			configuration.save();
+			Assertions.assertTrue(future.isDone());
+			Assertions.assertEquals(configuration.expected(), configuration.read());
+
+			//queued task has nothing to write after save
+			Files.write(file.toPath(), new byte[0]);
+			configuration.runTasks();
+			Assertions.assertEquals(0, file.length());
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testFlushAll() throws IOException {
+		File file = Files.createTempFile("configuration", ".yml").toFile();
+		try {
+			TestConfiguration configuration = new TestConfiguration(file) {
+				@Override
+				protected Executor getSaveExecutor() {
+					return getDefaultExecutor();
+				}
+			};
+			configuration.string = "flushed";
+			CompletableFuture<Void> future = configuration.saveAsync();
+			SimpleConfiguration.flushAll();
+			Assertions.assertTrue(future.isDone());
+			Assertions.assertEquals(configuration.expected(), configuration.read());
+
+			//executor is created again after flush
+			configuration.string = "saved after flush";
+			configuration.saveAsync().join();
+			Assertions.assertEquals(configuration.expected(), configuration.read());
+			SimpleConfiguration.flushAll();
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testFlush() throws IOException {
+		File file = Files.createTempFile("configuration", ".yml").toFile();
+		try {
+			TestConfiguration configuration = new TestConfiguration(file);
+			configuration.string = "flushed";
+			CompletableFuture<Void> future = configuration.saveAsync();
+			configuration.flush();
+			Assertions.assertTrue(future.isDone());
+			Assertions.assertEquals(configuration.expected(), configuration.read());
+
+			//queued task has nothing to write after flush
+			Files.write(file.toPath(), new byte[0]);
+			configuration.runTasks();
+			Assertions.assertEquals(0, file.length());
+		} finally {
+			file.delete();
+		}
+	}
+
+}
@@ -0,0 +1,156 @@
+package playerinfo;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.hurricanegames.commandlib.providers.playerinfo.AbstractCachedPlayerInfoProvider;
+import org.hurricanegames.commandlib.providers.playerinfo.PlayerInfo;
+
+/**
+ * Measures lookup throughput of 16 reader threads while a writer thread constantly adds joining players<br>
+ * Compares lock-free lookups with lookups that take read lock (as they did before)<br>
+ * Run manually: java -cp build/classes/java/main:build/classes/java/test:paper-api.jar playerinfo.CachedPlayerInfoProviderContentionBenchmark
+ */
+public class CachedPlayerInfoProviderContentionBenchmark {
+
+	protected static final int READERS = 16;
+	protected static final int PLAYERS = 100_000;
+	protected static final long DURATION_MILLIS = 3000;
+	protected static final int ROUNDS = 3;
+
+	protected static class TestPlayerInfo implements PlayerInfo {
+
+		protected final UUID uuid;
+		protected final String name;
+
+		public TestPlayerInfo(UUID uuid, String name) {
+			this.uuid = uuid;
+			this.name = name;
+		}
+
+		@Override
+		public UUID getUUID() {
+			return uuid;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+	}
+
+	protected static class TestProvider extends AbstractCachedPlayerInfoProvider<TestPlayerInfo> {
+
+		public TestProvider() {
+			super(null);
+		}
+
+		public void join(UUID uuid, String name) {
+			addPlayerInfo(new TestPlayerInfo(uuid, name));
+		}
+
+		@Override
+		public TestPlayerInfo createUnknown(UUID uuid) {
+			return new TestPlayerInfo(uuid, uuid.toString());
+		}
+
+		@Override
+		protected TestPlayerInfo createPlayerInfo(Player player) {
+			return new TestPlayerInfo(player.getUniqueId(), player.getName());
+		}
+
+		@Override
+		protected TestPlayerInfo createPlayerInfo(OfflinePlayer player) {
+			return new TestPlayerInfo(player.getUniqueId(), player.getName());
+		}
+
+	}
+
+	protected static class ReadLockingTestProvider extends TestProvider {
+
+		@Override
+		public TestPlayerInfo getByUUID(UUID uuid) {
+			long stamp = lock.readLock();
+			try {
+				return byUUID.get(uuid);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+
+		@Override
+		public TestPlayerInfo getByName(String name) {
+			long stamp = lock.readLock();
+			try {
+				return byName.get(name);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+
+	}
+
+	public static void main(String[] args) throws Exception {
+		UUID[] uuids = new UUID[PLAYERS];
+		String[] names = new String[PLAYERS];
+		for (int i = 0; i < PLAYERS; i++) {
+			uuids[i] = new UUID(0, i);
+			names[i] = "player" + i;
+		}
+
+		for (int round = 0; round < ROUNDS; round++) {
+			System.out.println("Round " + round);
+			System.out.println("  read lock: " + run(new ReadLockingTestProvider(), uuids, names) + " lookups/ms");
+			System.out.println("  lock-free: " + run(new TestProvider(), uuids, names) + " lookups/ms");
+		}
+	}
+
+	protected static long run(TestProvider provider, UUID[] uuids, String[] names) throws InterruptedException {
+		for (int i = 0; i < uuids.length; i++) {
+			provider.join(uuids[i], names[i]);
+		}
+
+		AtomicBoolean running = new AtomicBoolean(true);
+		LongAdder lookups = new LongAdder();
+		CountDownLatch finished = new CountDownLatch(READERS + 1);
+
+		for (int reader = 0; reader < READERS; reader++) {
+			int seed = reader;
+			Thread thread = new Thread(() -> {
+				long count = 0;
+				int index = seed;
+				while (running.get()) {
+					index = (index + 7919) % uuids.length;
+					if ((provider.getByUUID(uuids[index]) == null) || (provider.getByName(names[index]) == null)) {
+						throw new IllegalStateException("Player " + names[index] + " is missing");
+					}
+					count += 2;
+				}
+				lookups.add(count);
+				finished.countDown();
+			});
+			thread.start();
+		}
+
+		Thread writer = new Thread(() -> {
+			int index = 0;
+			while (running.get()) {
+				index = (index + 1) % uuids.length;
+				provider.join(uuids[index], names[index]);
+			}
+			finished.countDown();
+		});
+		writer.start();
+
+		Thread.sleep(DURATION_MILLIS);
+		running.set(false);
+		finished.await();
+		return lookups.sum() / DURATION_MILLIS;
+	}
+
+}
@@ -0,0 +1,129 @@
+package playerinfo;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.hurricanegames.commandlib.providers.playerinfo.AbstractCachedPlayerInfoProvider;
+import org.hurricanegames.commandlib.providers.playerinfo.PlayerInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CachedPlayerInfoProviderJoinBatchTest {
+
+	@Test
+	public void testPendingJoins() {
+		TestProvider provider = new TestProvider(4);
+		UUID uuid = new UUID(1, 1);
+		provider.join(uuid, "Notch");
+		Assertions.assertEquals("Notch", provider.getByUUID(uuid).getName());
+		Assertions.assertEquals(uuid, provider.getByNameIgnoreCase("notch").getUUID());
+		Assertions.assertFalse(provider.isIndexed(uuid));
+
+		//rejoin with another name before flush
+		provider.join(uuid, "Jeb_");
+		Assertions.assertEquals("Jeb_", provider.getByUUID(uuid).getName());
+		provider.flushJoins();
+		Assertions.assertTrue(provider.isIndexed(uuid));
+		Assertions.assertEquals("Jeb_", provider.getByUUID(uuid).getName());
+		Assertions.assertEquals(uuid, provider.getByName("Jeb_").getUUID());
+		Assertions.assertNull(provider.getByName("Notch"));
+	}
+
+	@Test
+	public void testBulkLookupSeesPendingJoins() {
+		TestProvider provider = new TestProvider(4);
+		UUID uuid1 = new UUID(1, 1);
+		UUID uuid2 = new UUID(2, 2);
+		provider.join(uuid1, "Notch");
+		provider.flushJoins();
+		provider.join(uuid2, "Jeb_");
+
+		Map<String, TestPlayerInfo> byName = provider.getByNames(Arrays.asList("Notch", "Jeb_", "jeb_"));
+		Assertions.assertEquals(2, byName.size());
+		Assertions.assertEquals(uuid1, byName.get("Notch").getUUID());
+		Assertions.assertEquals(uuid2, byName.get("Jeb_").getUUID());
+		Assertions.assertEquals(2, provider.getByUUIDs(Arrays.asList(uuid1, uuid2)).size());
+	}
+
+	@Test
+	public void testBatchSizeFlush() {
+		TestProvider provider = new TestProvider(4);
+		for (int i = 0; i < 3; i++) {
+			provider.join(new UUID(i, i), "player" + i);
+		}
+		Assertions.assertFalse(provider.isIndexed(new UUID(0, 0)));
+		provider.join(new UUID(3, 3), "player3");
+		for (int i = 0; i < 4; i++) {
+			Assertions.assertTrue(provider.isIndexed(new UUID(i, i)));
+		}
+	}
+
+	protected static class TestPlayerInfo implements PlayerInfo {
+
+		protected final UUID uuid;
+		protected final String name;
+
+		public TestPlayerInfo(UUID uuid, String name) {
+			this.uuid = uuid;
+			this.name = name;
+		}
+
+		@Override
+		public UUID getUUID() {
+			return uuid;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+	}
+
+	protected static class TestProvider extends AbstractCachedPlayerInfoProvider<TestPlayerInfo> {
+
+		protected final int joinBatchSize;
+
+		/*
+		 * Provider is warm, so lookups that miss don't fall back to bukkit
+		 */
+		public TestProvider(int joinBatchSize) {
+			super(null);
+			this.joinBatchSize = joinBatchSize;
+			this.warm = true;
+		}
+
+		public void join(UUID uuid, String name) {
+			queueJoin(new TestPlayerInfo(uuid, name));
+		}
+
+		public boolean isIndexed(UUID uuid) {
+			return byUUID.containsKey(uuid);
+		}
+
+		@Override
+		protected int getJoinBatchSize() {
+			return joinBatchSize;
+		}
+
+		@Override
+		public TestPlayerInfo createUnknown(UUID uuid) {
+			return new TestPlayerInfo(uuid, null);
+		}
+
+		@Override
+		protected TestPlayerInfo createPlayerInfo(Player player) {
+			return new TestPlayerInfo(player.getUniqueId(), player.getName());
+		}
+
+		@Override
+		protected TestPlayerInfo createPlayerInfo(OfflinePlayer player) {
+			return new TestPlayerInfo(player.getUniqueId(), player.getName());
+		}
+
+	}
+
+}
@@ -0,0 +1,75 @@
+package playerinfo;
+
+import java.util.UUID;
+
+import org.hurricanegames.commandlib.providers.playerinfo.CompactCachedPlayerInfoProvider;
+
+import playerinfo.CachedPlayerInfoProviderContentionBenchmark.TestPlayerInfo;
+import playerinfo.CachedPlayerInfoProviderContentionBenchmark.TestProvider;
+
+/**
+ * Compares retained heap of map based cached provider and compact cached provider filled with 600k players<br>
+ * Heap usage is measured after forced gc, so run with enough heap and no other load: java -Xmx2g -cp build/classes/java/main:build/classes/java/test:paper-api.jar playerinfo.CachedPlayerInfoProviderMemoryBenchmark
+ */
+public class CachedPlayerInfoProviderMemoryBenchmark {
+
+	protected static final int PLAYERS = 600_000;
+
+	protected static class TestCompactProvider extends CompactCachedPlayerInfoProvider<TestPlayerInfo> {
+
+		public TestCompactProvider() {
+			super(null);
+		}
+
+		public void join(UUID uuid, String name) {
+			addPlayerInfo(new TestPlayerInfo(uuid, name));
+		}
+
+		@Override
+		public TestPlayerInfo createUnknown(UUID uuid) {
+			return new TestPlayerInfo(uuid, null);
+		}
+
+		@Override
+		protected TestPlayerInfo createPlayerInfo(UUID uuid, String name) {
+			return new TestPlayerInfo(uuid, name);
+		}
+
+	}
+
+	public static void main(String[] args) {
+		long baseline = usedHeap();
+		TestProvider provider = new TestProvider();
+		for (int i = 0; i < PLAYERS; i++) {
+			provider.join(UUID.randomUUID(), "player_" + i);
+		}
+		long mapsUsage = usedHeap() - baseline;
+		System.out.println("Map based provider: " + (mapsUsage / (1024 * 1024)) + " MB, " + (mapsUsage / PLAYERS) + " bytes per player");
+		provider = null;
+
+		baseline = usedHeap();
+		TestCompactProvider compactProvider = new TestCompactProvider();
+		for (int i = 0; i < PLAYERS; i++) {
+			compactProvider.join(UUID.randomUUID(), "player_" + i);
+		}
+		long compactUsage = usedHeap() - baseline;
+		System.out.println("Compact provider: " + (compactUsage / (1024 * 1024)) + " MB, " + (compactUsage / PLAYERS) + " bytes per player");
+		System.out.println("Compact provider reachability check: " + compactProvider.getByNameIgnoreCase("PLAYER_1").getName());
+	}
+
+	protected static long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+		}
+		return used;
+	}
+
+}
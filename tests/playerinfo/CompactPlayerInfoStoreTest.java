@@ -0,0 +1,157 @@
+package playerinfo;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hurricanegames.commandlib.providers.playerinfo.CompactPlayerInfoStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CompactPlayerInfoStoreTest {
+
+	@Test
+	public void testLookup() {
+		CompactPlayerInfoStore store = new CompactPlayerInfoStore();
+		for (int i = 0; i < 10000; i++) {
+			Assertions.assertTrue(store.put(new UUID(i, -i), "Player" + i, true));
+		}
+		Assertions.assertEquals(10000, store.size());
+		for (int i = 0; i < 10000; i++) {
+			UUID uuid = new UUID(i, -i);
+			Assertions.assertEquals("Player" + i, store.getByUUID(uuid, (u, n) -> n));
+			Assertions.assertEquals(uuid, store.getByName("Player" + i, false, (u, n) -> u));
+			Assertions.assertEquals("Player" + i, store.getByName("pLAYER" + i, true, (u, n) -> n));
+			Assertions.assertNull(store.getByName("player" + i, false, (u, n) -> u));
+		}
+		Assertions.assertNull(store.getByUUID(new UUID(10000, -10000), (u, n) -> n));
+
+		Assertions.assertFalse(store.put(new UUID(1, -1), "Other", false));
+		Assertions.assertEquals("Player1", store.getByUUID(new UUID(1, -1), (u, n) -> n));
+	}
+
+	@Test
+	public void testRename() {
+		CompactPlayerInfoStore store = new CompactPlayerInfoStore();
+		for (int i = 0; i < 5000; i++) {
+			store.put(new UUID(0, i), "Player" + i, true);
+		}
+		for (int i = 0; i < 5000; i += 2) {
+			store.put(new UUID(0, i), "Renamed" + i, true);
+		}
+		for (int i = 0; i < 5000; i++) {
+			String name = ((i % 2) == 0 ? "Renamed" : "Player") + i;
+			Assertions.assertEquals(name, store.getByUUID(new UUID(0, i), (u, n) -> n));
+			Assertions.assertEquals(new UUID(0, i), store.getByName(name, false, (u, n) -> u));
+			if ((i % 2) == 0) {
+				Assertions.assertNull(store.getByName("Player" + i, true, (u, n) -> u));
+			}
+		}
+
+		store.put(new UUID(0, 1), "Nötch", true);
+		Assertions.assertEquals("Nötch", store.getByName("NÖTCH", true, (u, n) -> n));
+	}
+
+	@Test
+	public void testAmbiguousNames() {
+		CompactPlayerInfoStore store = new CompactPlayerInfoStore();
+		store.put(new UUID(0, 1), "Notch", true);
+		store.put(new UUID(0, 2), "notch", true);
+		store.put(new UUID(0, 3), "NOTCH", false);
+
+		Assertions.assertEquals(new UUID(0, 1), store.getByName("Notch", true, (u, n) -> u));
+		Assertions.assertEquals(new UUID(0, 3), store.getByName("NOTCH", true, (u, n) -> u));
+		Assertions.assertEquals(new UUID(0, 2), store.getByName("nOtCh", true, (u, n) -> u));
+
+		store.put(new UUID(0, 4), "notch", true);
+		Assertions.assertEquals(new UUID(0, 4), store.getByName("notch", false, (u, n) -> u));
+	}
+
+	@Test
+	public void testPrefixIteration() {
+		CompactPlayerInfoStore store = new CompactPlayerInfoStore();
+		for (int i = 0; i < 200; i++) {
+			store.put(new UUID(0, i), (i % 2 == 0 ? "Alpha" : "Beta") + i, true);
+		}
+		store.put(new UUID(1, 0), null, true);
+
+		List<Map.Entry<UUID, String>> found = new ArrayList<>();
+		store.forEachStartingWith("alpha", true, (uuid, name) -> found.add(new SimpleEntry<>(uuid, name)));
+		Assertions.assertEquals(100, found.size());
+		Assertions.assertEquals(new SimpleEntry<>(new UUID(0, 0), "Alpha0"), found.get(0));
+
+		found.clear();
+		store.forEachStartingWith("alpha", false, (uuid, name) -> found.add(new SimpleEntry<>(uuid, name)));
+		Assertions.assertEquals(0, found.size());
+
+		found.clear();
+		store.forEachStartingWith("Beta", false, (uuid, name) -> found.add(new SimpleEntry<>(uuid, name)) && (found.size() < 70));
+		Assertions.assertEquals(70, found.size());
+	}
+
+	@Test
+	public void testPrefixIterationSortedAfterUpdates() {
+		CompactPlayerInfoStore store = new CompactPlayerInfoStore();
+		store.put(new UUID(0, 1), "carl", true);
+		store.put(new UUID(0, 2), "Bob", true);
+		store.put(new UUID(0, 3), "alice", true);
+		List<String> names = new ArrayList<>();
+		store.forEachStartingWith("", true, (uuid, name) -> names.add(name));
+		Assertions.assertEquals(Arrays.asList("alice", "Bob", "carl"), names);
+
+		store.put(new UUID(0, 2), "Abe", true);
+		store.put(new UUID(0, 4), "ALF", true);
+		store.put(new UUID(0, 5), "b\u00f6rje", true);
+		names.clear();
+		store.forEachStartingWith("", true, (uuid, name) -> names.add(name));
+		Assertions.assertEquals(Arrays.asList("Abe", "ALF", "alice", "b\u00f6rje", "carl"), names);
+
+		names.clear();
+		store.forEachStartingWith("al", true, (uuid, name) -> names.add(name));
+		Assertions.assertEquals(Arrays.asList("ALF", "alice"), names);
+	}
+
+	@Test
+	public void testPrefixIterationContinuesAfterConcurrentPut() {
+		CompactPlayerInfoStore store = new CompactPlayerInfoStore();
+		for (int i = 0; i < 300; i++) {
+			store.put(new UUID(0, i), String.format("Player%03d", i), true);
+		}
+		List<String> names = new ArrayList<>();
+		store.forEachStartingWith("player", true, (uuid, name) -> {
+			if (names.size() == 100) {
+				//lands before iteration position, so it shouldn't be returned
+				store.put(new UUID(1, 0), "Player000a", true);
+				store.put(new UUID(1, 1), "Player299a", true);
+			}
+			names.add(name);
+			return true;
+		});
+		Assertions.assertEquals(301, names.size());
+		Assertions.assertEquals("Player299a", names.get(300));
+		for (int i = 0; i < 300; i++) {
+			Assertions.assertEquals(String.format("Player%03d", i), names.get(i));
+		}
+	}
+
+	@Test
+	public void testBulkLookup() {
+		CompactPlayerInfoStore store = new CompactPlayerInfoStore();
+		for (int i = 0; i < 100; i++) {
+			store.put(new UUID(0, i), "Player" + i, true);
+		}
+
+		Map<UUID, String> byUUID = store.getByUUIDs(Arrays.asList(new UUID(0, 5), new UUID(0, 500), new UUID(0, 1)), (u, n) -> n);
+		Assertions.assertEquals(Arrays.asList(new UUID(0, 5), new UUID(0, 1)), new ArrayList<>(byUUID.keySet()));
+		Assertions.assertEquals(Arrays.asList("Player5", "Player1"), new ArrayList<>(byUUID.values()));
+
+		Map<String, UUID> byName = store.getByNames(Arrays.asList("player7", "Player8", "Unknown"), true, (u, n) -> u);
+		Assertions.assertEquals(2, byName.size());
+		Assertions.assertEquals(new UUID(0, 7), byName.get("player7"));
+		Assertions.assertEquals(new UUID(0, 8), byName.get("Player8"));
+	}
+
+}
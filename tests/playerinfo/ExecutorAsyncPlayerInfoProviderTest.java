@@ -0,0 +1,171 @@
+package playerinfo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.hurricanegames.commandlib.providers.playerinfo.ExecutorAsyncPlayerInfoProvider;
+import org.hurricanegames.commandlib.providers.playerinfo.FilePlayerInfoStorage;
+import org.hurricanegames.commandlib.providers.playerinfo.PlayerInfo;
+import org.hurricanegames.commandlib.utils.MainThreadExecutor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ExecutorAsyncPlayerInfoProviderTest {
+
+	@Test
+	public void testFileStorage() throws IOException {
+		Path file = Files.createTempFile("playerinfo", ".storage");
+		try {
+			FilePlayerInfoStorage storage = new FilePlayerInfoStorage(file);
+			UUID uuid1 = new UUID(1, 1);
+			UUID uuid2 = new UUID(2, 2);
+			storage.store(uuid1, "Notch");
+			storage.store(uuid2, "notch");
+			storage.store(uuid1, "Jeb");
+			storage.store(uuid1, "Jeb_");
+			Assertions.assertEquals("Jeb_", storage.loadByUUID(uuid1, (u, n) -> n));
+			Assertions.assertNull(storage.loadByName("Jeb", true, (u, n) -> u));
+			Assertions.assertEquals(uuid2, storage.loadByName("NOTCH", true, (u, n) -> u));
+			Assertions.assertNull(storage.loadByName("NOTCH", false, (u, n) -> u));
+			long size = Files.size(file);
+			storage.compact();
+			Assertions.assertTrue(Files.size(file) < size);
+			Assertions.assertEquals("Jeb_", storage.loadByUUID(uuid1, (u, n) -> n));
+			Assertions.assertEquals("notch", storage.loadByUUID(uuid2, (u, n) -> n));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testScheduleFailCompletesFuture() throws IOException, InterruptedException {
+		Path file = Files.createTempFile("playerinfo", ".storage");
+		try {
+			FilePlayerInfoStorage storage = new FilePlayerInfoStorage(file);
+			List<Runnable> tasks = new ArrayList<>();
+			TestProvider provider = new TestProvider(storage, tasks::add);
+			CompletableFuture<TestPlayerInfo> future = provider.getByNameAsync("Notch");
+			Thread executorThread = new Thread(tasks.remove(0));
+			executorThread.start();
+			executorThread.join();
+			Assertions.assertTrue(future.isCompletedExceptionally());
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testReadThroughCache() throws IOException {
+		Path file = Files.createTempFile("playerinfo", ".storage");
+		try {
+			FilePlayerInfoStorage storage = new FilePlayerInfoStorage(file);
+			UUID uuid = new UUID(1, 1);
+			storage.store(uuid, "Notch");
+
+			List<Runnable> tasks = new ArrayList<>();
+			TestProvider provider = new TestProvider(storage, tasks::add);
+
+			CompletableFuture<TestPlayerInfo> future1 = provider.getByNameIgnoreCaseAsync("notch");
+			CompletableFuture<TestPlayerInfo> future2 = provider.getByNameIgnoreCaseAsync("NOTCH");
+			Assertions.assertSame(future1, future2);
+			Assertions.assertEquals(1, tasks.size());
+			Assertions.assertFalse(future1.isDone());
+			tasks.remove(0).run();
+			Assertions.assertEquals(uuid, future1.join().getUUID());
+
+			//cached now
+			Assertions.assertTrue(provider.getByUUIDAsync(uuid).isDone());
+			Assertions.assertEquals("Notch", provider.getByNameAsync("Notch").join().getName());
+			Assertions.assertTrue(tasks.isEmpty());
+
+			//not found
+			CompletableFuture<TestPlayerInfo> future3 = provider.getByNameAsync("Jeb_");
+			tasks.remove(0).run();
+			Assertions.assertNull(future3.join());
+
+			//rename is visible immediately and stored asynchronously
+			CompletableFuture<Void> update = provider.update(uuid, "Jeb_");
+			Assertions.assertEquals(uuid, provider.getByNameAsync("Jeb_").join().getUUID());
+			Assertions.assertNull(provider.getCachedByName("Notch"));
+			tasks.remove(0).run();
+			update.join();
+			Assertions.assertEquals("Jeb_", storage.loadByUUID(uuid, (u, n) -> n));
+
+			//same name is not stored again
+			Assertions.assertTrue(provider.update(uuid, "Jeb_").isDone());
+			Assertions.assertTrue(tasks.isEmpty());
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	protected static class TestPlayerInfo implements PlayerInfo {
+
+		protected final UUID uuid;
+		protected final String name;
+
+		public TestPlayerInfo(UUID uuid, String name) {
+			this.uuid = uuid;
+			this.name = name;
+		}
+
+		@Override
+		public UUID getUUID() {
+			return uuid;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+	}
+
+	/*
+	 * Thread that creates provider is the main thread, tasks submitted from other threads are not expected
+	 */
+	protected static class TestMainThreadExecutor implements MainThreadExecutor {
+
+		protected final Thread mainThread;
+
+		public TestMainThreadExecutor(Thread mainThread) {
+			this.mainThread = mainThread;
+		}
+
+		@Override
+		public boolean isMainThread() {
+			return Thread.currentThread() == mainThread;
+		}
+
+		@Override
+		public void execute(Runnable task) {
+			throw new RejectedExecutionException("Task submitted from " + Thread.currentThread());
+		}
+
+	}
+
+	protected static class TestProvider extends ExecutorAsyncPlayerInfoProvider<TestPlayerInfo> {
+
+		public TestProvider(FilePlayerInfoStorage storage, Executor executor) {
+			super(null, new TestMainThreadExecutor(Thread.currentThread()), storage, executor, 100, 60000);
+		}
+
+		public TestPlayerInfo getCachedByName(String name) {
+			return getCachedByName(name, true);
+		}
+
+		@Override
+		protected TestPlayerInfo createPlayerInfo(UUID uuid, String name) {
+			return new TestPlayerInfo(uuid, name);
+		}
+
+	}
+
+}
@@ -0,0 +1,90 @@
+package playerinfo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.hurricanegames.commandlib.providers.playerinfo.PlayerInfoSnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PlayerInfoSnapshotTest {
+
+	@Test
+	public void testReadWrite() throws IOException {
+		Path file = Files.createTempFile("playerinfo", ".snapshot");
+		try {
+			PlayerInfoSnapshot.Writer writer = new PlayerInfoSnapshot.Writer();
+			for (int i = 0; i < 1000; i++) {
+				writer.add(new UUID(i - 500, i), "Player" + i);
+			}
+			writer.add(new UUID(1, 1), null);
+			writer.add(new UUID(2, 2), "Nötch");
+			writer.add(new UUID(3, 3), "notch");
+			writer.write(file);
+
+			PlayerInfoSnapshot snapshot = PlayerInfoSnapshot.open(file);
+			Assertions.assertEquals(1002, snapshot.size());
+			for (int i = 0; i < 1000; i++) {
+				UUID uuid = new UUID(i - 500, i);
+				Assertions.assertEquals("Player" + i, snapshot.getByUUID(uuid, (u, n) -> n));
+				Assertions.assertEquals(uuid, snapshot.getByName("Player" + i, false, (u, n) -> u));
+				Assertions.assertEquals(uuid, snapshot.getByName("PLAYER" + i, true, (u, n) -> u));
+				Assertions.assertNull(snapshot.getByName("PLAYER" + i, false, (u, n) -> u));
+			}
+			Assertions.assertNull(snapshot.getByUUID(new UUID(1, 1), (u, n) -> n));
+			Assertions.assertEquals("Nötch", snapshot.getByName("NÖTCH", true, (u, n) -> n));
+			Assertions.assertEquals("notch", snapshot.getByName("notch", true, (u, n) -> n));
+			Assertions.assertNull(snapshot.getByName("Player1000", true, (u, n) -> n));
+
+			UUID[] previous = new UUID[1];
+			snapshot.forEach((uuid, name) -> {
+				Assertions.assertTrue((previous[0] == null) || (previous[0].compareTo(uuid) < 0));
+				previous[0] = uuid;
+				return true;
+			});
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testCorruptedRecords() throws IOException {
+		Path file = Files.createTempFile("playerinfo", ".snapshot");
+		try {
+			new PlayerInfoSnapshot.Writer().add(new UUID(0, 1), "Alice").add(new UUID(0, 2), "Bob").write(file);
+			byte[] bytes = Files.readAllBytes(file);
+			//first record name length
+			ByteBuffer.wrap(bytes).putInt(24 + 20, 1000);
+			Files.write(file, bytes);
+			PlayerInfoSnapshot snapshot = PlayerInfoSnapshot.open(file);
+			Assertions.assertThrows(IllegalStateException.class, () -> snapshot.getByUUID(new UUID(0, 1), (u, n) -> n));
+			Assertions.assertEquals("Bob", snapshot.getByUUID(new UUID(0, 2), (u, n) -> n));
+
+			bytes = Files.readAllBytes(file);
+			ByteBuffer.wrap(bytes).putInt(24 + 20, 5);
+			//first name index entry
+			ByteBuffer.wrap(bytes).putInt(24 + (2 * 24), 2);
+			Files.write(file, bytes);
+			PlayerInfoSnapshot indexSnapshot = PlayerInfoSnapshot.open(file);
+			Assertions.assertEquals("Alice", indexSnapshot.getByUUID(new UUID(0, 1), (u, n) -> n));
+			Assertions.assertThrows(IllegalStateException.class, () -> indexSnapshot.getByName("Alice", false, (u, n) -> n));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testInvalidSnapshot() throws IOException {
+		Path file = Files.createTempFile("playerinfo", ".snapshot");
+		try {
+			Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24});
+			Assertions.assertThrows(IOException.class, () -> PlayerInfoSnapshot.open(file));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+}
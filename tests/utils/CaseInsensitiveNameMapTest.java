@@ -0,0 +1,50 @@
+package utils;
+
+import org.hurricanegames.commandlib.utils.CaseInsensitiveNameMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CaseInsensitiveNameMapTest {
+
+	@Test
+	public void testLookup() {
+		CaseInsensitiveNameMap<Integer> map = new CaseInsensitiveNameMap<>();
+		for (int i = 0; i < 1000; i++) {
+			Assertions.assertNull(map.put("Player" + i, i));
+		}
+		Assertions.assertEquals(1000, map.size());
+		for (int i = 0; i < 1000; i++) {
+			Assertions.assertEquals(Integer.valueOf(i), map.get("Player" + i));
+			Assertions.assertEquals(Integer.valueOf(i), map.getIgnoreCase("pLAYER" + i));
+			Assertions.assertNull(map.get("player" + i));
+		}
+		Assertions.assertNull(map.getIgnoreCase("Player1000"));
+
+		Assertions.assertEquals(Integer.valueOf(1), map.put("Player1", 10));
+		Assertions.assertEquals(Integer.valueOf(10), map.putIfAbsent("Player1", 11));
+		Assertions.assertEquals(Integer.valueOf(10), map.get("Player1"));
+		Assertions.assertFalse(map.remove("Player1", 1));
+		Assertions.assertTrue(map.remove("Player1", 10));
+		Assertions.assertNull(map.getIgnoreCase("player1"));
+		Assertions.assertEquals(999, map.size());
+	}
+
+	@Test
+	public void testAmbiguousNames() {
+		CaseInsensitiveNameMap<Integer> map = new CaseInsensitiveNameMap<>();
+		map.put("Notch", 1);
+		map.put("notch", 2);
+		map.put("NOTCH", 3);
+
+		Assertions.assertEquals(Integer.valueOf(1), map.getIgnoreCase("Notch"));
+		Assertions.assertEquals(Integer.valueOf(2), map.getIgnoreCase("notch"));
+		Assertions.assertEquals(Integer.valueOf(3), map.getIgnoreCase("nOtCh"));
+
+		map.put("notch", 4);
+		Assertions.assertEquals(Integer.valueOf(4), map.getIgnoreCase("nOtCh"));
+
+		map.remove("notch");
+		Assertions.assertEquals(Integer.valueOf(3), map.getIgnoreCase("nOtCh"));
+	}
+
+}
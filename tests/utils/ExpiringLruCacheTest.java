@@ -0,0 +1,34 @@
+package utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hurricanegames.commandlib.utils.ExpiringLruCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ExpiringLruCacheTest {
+
+	@Test
+	public void testEviction() {
+		ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(2, 1, TimeUnit.HOURS);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		Assertions.assertEquals(Integer.valueOf(1), cache.get("a"));
+		cache.put("c", 3);
+		Assertions.assertEquals(2, cache.size());
+		Assertions.assertEquals(Integer.valueOf(1), cache.get("a"));
+		Assertions.assertNull(cache.get("b"));
+		Assertions.assertEquals(Integer.valueOf(3), cache.get("c"));
+	}
+
+	@Test
+	public void testExpiration() throws InterruptedException {
+		ExpiringLruCache<String, Integer> cache = new ExpiringLruCache<>(10, 20, TimeUnit.MILLISECONDS);
+		cache.put("a", 1);
+		Assertions.assertEquals(Integer.valueOf(1), cache.get("a"));
+		Thread.sleep(50);
+		Assertions.assertNull(cache.get("a"));
+		Assertions.assertEquals(0, cache.size());
+	}
+
+}
@@ -0,0 +1,62 @@
+package utils;
+
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+import org.hurricanegames.commandlib.utils.ParseUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ParseUtilsTest {
+
+	@Test
+	public void testParseUUID() {
+		for (int i = 0; i < 100; i++) {
+			UUID uuid = UUID.randomUUID();
+			Assertions.assertEquals(uuid, ParseUtils.parseUUID(uuid.toString()));
+			Assertions.assertEquals(uuid, ParseUtils.parseUUID(uuid.toString().toUpperCase()));
+		}
+		Assertions.assertEquals(new UUID(-1, -1), ParseUtils.parseUUID("ffffffff-ffff-ffff-ffff-ffffffffffff"));
+		Assertions.assertEquals(UUID.fromString("1-2-3-4-5"), ParseUtils.parseUUID("1-2-3-4-5"));
+		Assertions.assertNull(ParseUtils.parseUUID("Notch"));
+		Assertions.assertNull(ParseUtils.parseUUID("a-b"));
+		Assertions.assertNull(ParseUtils.parseUUID("gfffffff-ffff-ffff-ffff-ffffffffffff"));
+		Assertions.assertNull(ParseUtils.parseUUID(""));
+	}
+
+	@Test
+	public void testParseInt() {
+		String[] values = {
+			"0", "1", "-1", "+1", "2147483647", "-2147483648", "2147483648", "-2147483649", "99999999999",
+			"", "-", "+", "1a", "a1", "1.0", " 1", "007", "--1"
+		};
+		for (String value : values) {
+			OptionalInt expected;
+			try {
+				expected = OptionalInt.of(Integer.parseInt(value));
+			} catch (NumberFormatException e) {
+				expected = OptionalInt.empty();
+			}
+			Assertions.assertEquals(expected, ParseUtils.parseInt(value), value);
+		}
+	}
+
+	@Test
+	public void testParseDouble() {
+		String[] values = {
+			"0", "1", "-1", "+1.5", "1.", ".5", ".", "1e10", "1E-10", "1e", "1e+", "-1.5e3d", "2f", "2x",
+			"NaN", "-Infinity", "Infinity1", "NaNd", "0x1p3", " 1 ", "", "-", "1.2.3", "e5", "1d1", "abc"
+		};
+		for (String value : values) {
+			OptionalDouble expected;
+			try {
+				expected = OptionalDouble.of(Double.parseDouble(value));
+			} catch (NumberFormatException e) {
+				expected = OptionalDouble.empty();
+			}
+			Assertions.assertEquals(expected, ParseUtils.parseDouble(value), value);
+		}
+	}
+
+}
@@ -0,0 +1,50 @@
+package utils;
+
+import java.lang.reflect.Method;
+
+import org.hurricanegames.commandlib.utils.ReflectionUtils;
+import org.hurricanegames.commandlib.utils.ReflectionUtils.BoundMethodInvoker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ReflectionUtilsTest {
+
+	@Test
+	public void testBindInvokerPerInstance() throws NoSuchMethodException {
+		Method method = Target.class.getDeclaredMethod("add", int.class, String.class);
+		Target target1 = new Target();
+		Target target2 = new Target();
+		//second bind reuses cached lambda invoker factory, but must still be bound to its own object
+		BoundMethodInvoker invoker1 = ReflectionUtils.bindInvoker(method, target1);
+		BoundMethodInvoker invoker2 = ReflectionUtils.bindInvoker(method, target2);
+		Assertions.assertNull(invoker1.invoke(new Object[] {1, "a"}));
+		invoker2.invoke(new Object[] {2, "b"});
+		invoker2.invoke(new Object[] {3, "c"});
+		Assertions.assertEquals("1a", target1.value.toString());
+		Assertions.assertEquals("2b3c", target2.value.toString());
+	}
+
+	@Test
+	public void testBindInvokerRethrows() throws NoSuchMethodException {
+		Method method = Target.class.getDeclaredMethod("fail");
+		for (int i = 0; i < 2; i++) {
+			BoundMethodInvoker invoker = ReflectionUtils.bindInvoker(method, new Target());
+			Assertions.assertThrows(IllegalStateException.class, () -> invoker.invoke(new Object[0]));
+		}
+	}
+
+	private static class Target {
+
+		private final StringBuilder value = new StringBuilder();
+
+		private void add(int number, String string) {
+			value.append(number).append(string);
+		}
+
+		private void fail() {
+			throw new IllegalStateException();
+		}
+
+	}
+
+}